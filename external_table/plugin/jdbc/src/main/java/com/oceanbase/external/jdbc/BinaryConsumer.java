@@ -41,7 +41,7 @@ public class BinaryConsumer extends BaseConsumer<VarBinaryVector> {
     /** Instantiate a BinaryConsumer. */
     public BinaryConsumer(VarBinaryVector vector, int index) {
         super(vector, index);
-        if (vector != null) {
+        if (vector != null && vector.getValueCapacity() <= 0) {
             vector.allocateNewSafe();
         }
     }
@@ -87,7 +87,10 @@ public class BinaryConsumer extends BaseConsumer<VarBinaryVector> {
     @Override
     public void resetValueVector(VarBinaryVector vector) {
         this.vector = vector;
-        this.vector.allocateNewSafe();
+        // the vector has been reset by the iterator, so keep the grown buffers for this batch.
+        if (this.vector.getValueCapacity() <= 0) {
+            this.vector.allocateNewSafe();
+        }
         this.currentIndex = 0;
     }
 }
@@ -23,19 +23,97 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class JdbcConfig {
     public String jdbc_url;
     public String user;
     public String password;
     public String table;
 
+    /// VARCHAR columns that should be dictionary-encoded, such as status codes or country names.
+    public List<String> dictionary_columns = Collections.emptyList();
+    /// Sample the first batch to find out the low cardinality CHAR/VARCHAR columns to be dictionary-encoded.
+    public boolean dictionary_auto_detect = false;
+    /// The maximum number of distinct values in the dictionary of a column. The scan fails if a column
+    /// has more distinct values, because the dictionary is kept in memory and exported with every batch.
+    public int dictionary_max_size = VarCharDictionaryEncoder.DEFAULT_MAX_SIZE;
+
+    /// The shards of a table, which have the same schema and are scanned in parallel.
+    /// The user, password and table of a shard are inherited from this config if not specified.
+    public List<ShardConfig> shards = Collections.emptyList();
+    /// The column that the shards are split by. Refer to {@link ShardConfig#key_min}.
+    public String shard_key;
+    /// How many shards can be scanned at the same time.
+    public int shard_parallelism = 4;
+
+    /// The unique and ordered key column which is used to scan the table chunk by chunk, such as
+    /// `SELECT ... WHERE key > last_key ORDER BY key LIMIT keyset_chunk_size`.
+    /// A failed chunk is resumed from the last key delivered if the error is transient.
+    public String keyset_column;
+    /// How many rows are queried in one chunk.
+    public long keyset_chunk_size = 100000;
+    /// How many times to retry a chunk continuously after transient errors.
+    public int keyset_max_retries = 3;
+
+    /// Recycle the vectors between the scans of the same schema, and start the vectors at the
+    /// largest capacity seen before. Refer to {@link VectorBufferPool}.
+    /// The idle vectors are kept in the allocator of the scan after it's closed.
+    public boolean buffer_pool = false;
+
+    public static class ShardConfig {
+        public String jdbc_url;
+        public String user;
+        public String password;
+        public String table;
+
+        /// The minimum and maximum values (inclusive) of `shard_key` in this shard.
+        /// They are used to skip the shards that don't match the filters. Null means no limit.
+        /// Only numeric keys are supported. The `shard_key` is matched case-insensitively.
+        public String key_min;
+        public String key_max;
+    }
+
     static JdbcConfig of(String parameters) {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         try {
             JdbcConfig config = objectMapper.readValue(parameters, JdbcConfig.class);
-            if (config.jdbc_url == null || config.user == null || config.table == null) {
-                throw new IllegalArgumentException("jdbc url, user or table is null.");
+            if (config.shards == null) {
+                config.shards = Collections.emptyList();
+            }
+            if (config.shards.isEmpty()) {
+                if (config.jdbc_url == null || config.user == null || config.table == null) {
+                    throw new IllegalArgumentException("jdbc url, user or table is null.");
+                }
+            } else {
+                for (int i = 0; i < config.shards.size(); i++) {
+                    ShardConfig shard = config.shards.get(i);
+                    JdbcConfig shardConfig = config.forShard(shard);
+                    if (shardConfig.jdbc_url == null || shardConfig.user == null || shardConfig.table == null) {
+                        throw new IllegalArgumentException("jdbc url, user or table of shard is null.");
+                    }
+                    try {
+                        ShardKeyRange.of(shard.key_min, shard.key_max);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(String.format(
+                                "key_min or key_max of shard-%d is not a number: [%s, %s]", i, shard.key_min, shard.key_max), e);
+                    }
+                }
+                if (config.shard_parallelism <= 0) {
+                    throw new IllegalArgumentException("shard_parallelism should be positive: " + config.shard_parallelism);
+                }
+            }
+            if (config.keyset_column != null && config.keyset_chunk_size <= 0) {
+                throw new IllegalArgumentException("keyset_chunk_size should be positive: " + config.keyset_chunk_size);
+            }
+            if (config.dictionary_columns == null) {
+                config.dictionary_columns = Collections.emptyList();
+            }
+            if (config.dictionary_max_size <= 0) {
+                throw new IllegalArgumentException("dictionary_max_size should be positive: " + config.dictionary_max_size);
             }
             return config;
         } catch (JsonProcessingException e) {
@@ -43,6 +121,30 @@ public class JdbcConfig {
         }
     }
 
+    public boolean isSharded() {
+        return !shards.isEmpty();
+    }
+
+    public boolean isKeysetScan() {
+        return keyset_column != null;
+    }
+
+    /**
+     * Create the config used to scan the shard.
+     */
+    public JdbcConfig forShard(ShardConfig shard) {
+        JdbcConfig other = new JdbcConfig();
+        other.jdbc_url = shard.jdbc_url;
+        other.user = shard.user != null ? shard.user : this.user;
+        other.password = shard.password != null ? shard.password : this.password;
+        other.table = shard.table != null ? shard.table : this.table;
+        other.keyset_column = this.keyset_column;
+        other.keyset_chunk_size = this.keyset_chunk_size;
+        other.keyset_max_retries = this.keyset_max_retries;
+        other.buffer_pool = this.buffer_pool;
+        return other;
+    }
+
     public String toString() {
         ObjectMapper objectMapper = new ObjectMapper();
         try {
@@ -57,6 +159,26 @@ public class JdbcConfig {
         other.user = this.user;
         other.password = "****";
         other.table = this.table;
+        other.dictionary_columns = this.dictionary_columns;
+        other.dictionary_auto_detect = this.dictionary_auto_detect;
+        other.dictionary_max_size = this.dictionary_max_size;
+        other.shards = new ArrayList<>(this.shards.size());
+        for (ShardConfig shard : this.shards) {
+            ShardConfig otherShard = new ShardConfig();
+            otherShard.jdbc_url = shard.jdbc_url;
+            otherShard.user = shard.user;
+            otherShard.password = shard.password != null ? "****" : null;
+            otherShard.table = shard.table;
+            otherShard.key_min = shard.key_min;
+            otherShard.key_max = shard.key_max;
+            other.shards.add(otherShard);
+        }
+        other.shard_key = this.shard_key;
+        other.shard_parallelism = this.shard_parallelism;
+        other.keyset_column = this.keyset_column;
+        other.keyset_chunk_size = this.keyset_chunk_size;
+        other.keyset_max_retries = this.keyset_max_retries;
+        other.buffer_pool = this.buffer_pool;
         ObjectMapper objectMapper = new ObjectMapper();
         try {
             return objectMapper.writeValueAsString(other);
@@ -22,6 +22,7 @@ package com.oceanbase.external.jdbc;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -29,6 +30,9 @@ import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
@@ -41,9 +45,11 @@ import com.oceanbase.external.api.TableScanParameter;
 import org.apache.arrow.adapter.jdbc.JdbcFieldInfo;
 import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
 import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
+import org.apache.arrow.util.AutoCloseables;
 import org.apache.arrow.vector.ipc.ArrowReader;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.util.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,12 +85,215 @@ public class JdbcDataSource extends DataSource {
     @Override
     public ArrowReader createScanner(Map<String, Object> scanParameterMap) throws IOException {
         TableScanParameter scanParameter = TableScanParameter.of(scanParameterMap);
+        if (config.isSharded()) {
+            return createShardedScanner(scanParameter);
+        }
+        if (config.isKeysetScan()) {
+            return createKeysetScanner(config, scanParameter);
+        }
+        return createJdbcScanner(config, scanParameter, config.dictionary_columns, config.dictionary_auto_detect);
+    }
+
+    /**
+     * Scan the table chunk by chunk in the order of the keyset column,
+     * and resume from the last key after transient errors.
+     */
+    protected ArrowReader createKeysetScanner(JdbcConfig config, TableScanParameter scanParameter) throws IOException {
+        if (!config.dictionary_columns.isEmpty() || config.dictionary_auto_detect) {
+            logger.warn("dictionary encoding is not supported by keyset scan and is ignored");
+        }
+        QueryBuilder queryBuilder = getQueryBuilder();
+        final boolean keySelected = queryBuilder.isKeysetColumnSelected(scanParameter, config);
+        // the key column is appended to the select list if it's not selected
+        int keyIndex = Math.max(scanParameter.getColumns().size(), 1);
+        for (int i = 0; keySelected && i < scanParameter.getColumns().size(); i++) {
+            if (scanParameter.getColumns().get(i).equalsIgnoreCase(config.keyset_column)) {
+                keyIndex = i;
+                break;
+            }
+        }
+
+        KeysetChunkOpener opener = new KeysetChunkOpener(config, scanParameter, queryBuilder);
+        return new KeysetScanner(allocator, opener, keyIndex, !keySelected,
+                config.keyset_chunk_size, config.keyset_max_retries);
+    }
+
+    /**
+     * Open the chunks of a keyset scan on one connection.
+     * The connection is dropped after a transient error, and the next chunk reconnects.
+     */
+    private class KeysetChunkOpener implements KeysetScanner.ChunkOpener {
+        private final JdbcConfig config;
+        private final TableScanParameter scanParameter;
+        private final QueryBuilder queryBuilder;
+        private Connection connection;
+
+        KeysetChunkOpener(JdbcConfig config, TableScanParameter scanParameter, QueryBuilder queryBuilder) {
+            this.config = config;
+            this.scanParameter = scanParameter;
+            this.queryBuilder = queryBuilder;
+        }
+
+        @Override
+        public ArrowReader open(Object lastKey) throws IOException {
+            try {
+                if (connection == null || connection.isClosed()) {
+                    connection = getConnection(config);
+                }
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+            String querySql = queryBuilder.buildKeysetQuery(scanParameter, config, lastKey != null, config.keyset_chunk_size);
+            List<Object> parameters = lastKey == null ?
+                    Collections.emptyList() : Collections.singletonList(toKeysetParameter(lastKey));
+            return executeQuery(config, connection, false, querySql, parameters, Collections.emptyList(), false);
+        }
+
+        /**
+         * Convert the key read by arrow to the value bound to the JDBC parameter.
+         */
+        private Object toKeysetParameter(Object key) {
+            if (key instanceof Text) {
+                return key.toString();
+            }
+            if (key instanceof Character) {
+                // the value of an unsigned 16-bit integer
+                return (int) (Character) key;
+            }
+            return key;
+        }
+
+        @Override
+        public void reset() {
+            try {
+                close();
+            } catch (IOException e) {
+                logger.info("failed to close the connection after a transient error", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (connection != null) {
+                Connection conn = connection;
+                connection = null;
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Push the same projection and filters to every shard and scan the shards in parallel.
+     * The shards whose key ranges don't match the filters are skipped.
+     */
+    protected ArrowReader createShardedScanner(TableScanParameter scanParameter) throws IOException {
+        Map<String, JdbcConfig> matchedShards = selectShards(getQueryBuilder().buildQueryFilters(scanParameter));
+        if (!config.dictionary_columns.isEmpty() || config.dictionary_auto_detect) {
+            logger.warn("dictionary encoding is not supported by sharded table and is ignored");
+        }
+        if (config.isKeysetScan()) {
+            logger.info("shards are scanned by keyset column {}", config.keyset_column);
+        }
+        logger.info("scan {} of {} shards, parallelism is {}",
+                matchedShards.size(), config.shards.size(), config.shard_parallelism);
+
+        Iterator<Map.Entry<String, JdbcConfig>> shardIterator = matchedShards.entrySet().iterator();
+        Map.Entry<String, JdbcConfig> firstShard = shardIterator.next();
+        Map<String, ShardedScanner.ShardScannerOpener> otherShards = new LinkedHashMap<>();
+        while (shardIterator.hasNext()) {
+            Map.Entry<String, JdbcConfig> shard = shardIterator.next();
+            otherShards.put(shard.getKey(), () -> createShardScanner(shard.getValue(), scanParameter));
+        }
+
+        // open the first shard here to get the schema and fail fast.
+        ArrowReader firstScanner = createShardScanner(firstShard.getValue(), scanParameter);
+        try {
+            return new ShardedScanner(allocator, firstShard.getKey(), firstScanner, otherShards, config.shard_parallelism);
+        } catch (IOException | RuntimeException e) {
+            firstScanner.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Select the shards whose key ranges may match the filters.
+     * @param filters the filters built by {@link QueryBuilder#buildQueryFilters}
+     * @return the configs of the selected shards, the key is the name of the shard.
+     * At least one shard is selected to provide the schema.
+     */
+    Map<String, JdbcConfig> selectShards(List<String> filters) {
+        QueryBuilder queryBuilder = getQueryBuilder();
+        Map<String, JdbcConfig> matchedShards = new LinkedHashMap<>();
+        for (int i = 0; i < config.shards.size(); i++) {
+            JdbcConfig.ShardConfig shard = config.shards.get(i);
+            String shardName = "shard-" + i;
+            if (config.shard_key != null && (shard.key_min != null || shard.key_max != null)) {
+                ShardKeyRange keyRange = ShardKeyRange.of(shard.key_min, shard.key_max);
+                if (!keyRange.mayMatch(queryBuilder.quoteIdentifier(config.shard_key), filters)) {
+                    logger.info("skip {} as the key range {} doesn't match the filters", shardName, keyRange);
+                    continue;
+                }
+            }
+            matchedShards.put(shardName, config.forShard(shard));
+        }
+        if (matchedShards.isEmpty()) {
+            // we need a shard to provide the schema, and the filters make sure it returns nothing.
+            matchedShards.put("shard-0", config.forShard(config.shards.get(0)));
+        }
+        return matchedShards;
+    }
+
+    private ArrowReader createShardScanner(JdbcConfig shardConfig, TableScanParameter scanParameter) throws IOException {
+        if (shardConfig.isKeysetScan()) {
+            return createKeysetScanner(shardConfig, scanParameter);
+        }
+        return createJdbcScanner(shardConfig, scanParameter, Collections.emptyList(), false);
+    }
+
+    protected ArrowReader createJdbcScanner(JdbcConfig config,
+                                            TableScanParameter scanParameter,
+                                            List<String> dictionaryColumns,
+                                            boolean dictionaryAutoDetect) throws IOException {
         QueryBuilder queryBuilder = getQueryBuilder();
         String querySql = queryBuilder.buildSelectQuery(scanParameter, config);
-        logger.info("jdbc query sql is '{}'", querySql);
+        return executeQuery(config, querySql, dictionaryColumns, dictionaryAutoDetect);
+    }
+
+    protected ArrowReader executeQuery(JdbcConfig config,
+                                       String querySql,
+                                       List<String> dictionaryColumns,
+                                       boolean dictionaryAutoDetect) throws IOException {
+        final Connection connection;
+        try {
+            connection = getConnection(config);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return executeQuery(config, connection, true, querySql, Collections.emptyList(),
+                dictionaryColumns, dictionaryAutoDetect);
+    }
+
+    /**
+     * @param ownConnection whether the connection is closed with the scanner or on failure.
+     *                      Otherwise it's closed by the caller.
+     * @param parameters the values bound to the parameters `?` of the query. The query is executed by a
+     *                   {@link PreparedStatement} if it's not empty.
+     */
+    protected ArrowReader executeQuery(JdbcConfig config,
+                                       Connection connection,
+                                       boolean ownConnection,
+                                       String querySql,
+                                       List<Object> parameters,
+                                       List<String> dictionaryColumns,
+                                       boolean dictionaryAutoDetect) throws IOException {
+        logger.info("jdbc query sql is '{}', parameters: {}", querySql, parameters);
 
-        Connection connection = null;
         Statement statement = null;
+        ResultSet resultSet = null;
 
         /*
          we don't use ADBC here even though ADBC-JDBC supports JDBC very well and has a better design.
@@ -93,12 +302,21 @@ public class JdbcDataSource extends DataSource {
         Calendar utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
 
         try {
-            connection = getConnection();
-            statement = connection.createStatement(TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
-            
-            // 根据数据库类型设置合适的fetchSize
-            setOptimalFetchSize(statement, connection);
-            ResultSet resultSet = statement.executeQuery(querySql);
+            if (parameters.isEmpty()) {
+                statement = connection.createStatement(TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+
+                // 根据数据库类型设置合适的fetchSize
+                setOptimalFetchSize(statement, connection);
+                resultSet = statement.executeQuery(querySql);
+            } else {
+                PreparedStatement preparedStatement = connection.prepareStatement(querySql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                statement = preparedStatement;
+                setOptimalFetchSize(statement, connection);
+                for (int i = 0; i < parameters.size(); i++) {
+                    preparedStatement.setObject(i + 1, parameters.get(i));
+                }
+                resultSet = preparedStatement.executeQuery();
+            }
 
             final int batchSize = calcBatchSize(resultSet);
             logger.info("use batch size: {}", batchSize);
@@ -109,14 +327,23 @@ public class JdbcDataSource extends DataSource {
                     .setTargetBatchSize(batchSize)
                     .build();
             jdbcToArrowConfig.setMaxBufferSize(2L * 1024 * 1024 * 1024);
+            if (config.buffer_pool) {
+                jdbcToArrowConfig.setBufferPool(VectorBufferPool.getInstance());
+            }
 
-            return new JdbcScanner(connection, statement, resultSet, jdbcToArrowConfig);
-        } catch (SQLException e) {
-            throw new IOException(e);
+            return new JdbcScanner(ownConnection ? connection : null, statement, resultSet, jdbcToArrowConfig,
+                    dictionaryColumns, dictionaryAutoDetect, config.dictionary_max_size);
+        } catch (SQLException | IOException | RuntimeException e) {
+            try {
+                AutoCloseables.close(resultSet, statement, ownConnection ? connection : null);
+            } catch (Exception ex) {
+                e.addSuppressed(ex);
+            }
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
         }
     }
 
-    protected Connection getConnection() throws SQLException {
+    protected Connection getConnection(JdbcConfig config) throws SQLException {
         return DriverManager.getConnection(config.jdbc_url, config.user, config.password);
     }
 
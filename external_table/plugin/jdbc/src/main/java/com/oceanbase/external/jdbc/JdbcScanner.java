@@ -23,10 +23,15 @@ import org.apache.arrow.adapter.jdbc.ArrowVectorIterator;
 import org.apache.arrow.adapter.jdbc.JdbcToArrow;
 import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
 import org.apache.arrow.adapter.jdbc.JdbcToArrowUtils;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.VectorUnloader;
 import org.apache.arrow.vector.ipc.ArrowReader;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,8 +39,13 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /// copy from org.apache.arrow.adbc.driver.jdbc.JdbcArrowReader
 /// Because JdbcArrowReader doesn't support type conversion config.
@@ -49,25 +59,194 @@ public class JdbcScanner extends ArrowReader {
     private final Schema schema;
     private long bytesRead;
 
+    /// the batch read ahead to detect low cardinality columns
+    private VectorSchemaRoot sampleBatch;
+
+    /// the dictionary encoders, the element is null if the column is not dictionary-encoded.
+    /// It's null if no column is dictionary-encoded.
+    private VarCharDictionaryEncoder[] dictionaryEncoders;
+    /// the columns chosen by user, which fail the scan if they have too many distinct values
+    private final List<String> dictionaryColumns;
+    private final int dictionaryMaxSize;
+
     public JdbcScanner(Connection connection,
                        Statement statement,
                        ResultSet resultSet,
                        JdbcToArrowConfig config)
             throws SQLException, IOException {
+        this(connection, statement, resultSet, config, Collections.emptyList(), false,
+                VarCharDictionaryEncoder.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param connection the connection closed with this scanner, or null if it's closed by the caller.
+     * @param dictionaryColumns the VARCHAR columns that should be dictionary-encoded.
+     * @param dictionaryAutoDetect whether to sample the first batch to find more low cardinality
+     *                             CHAR/VARCHAR columns to be dictionary-encoded.
+     * @param dictionaryMaxSize the maximum number of distinct values in a dictionary.
+     */
+    public JdbcScanner(Connection connection,
+                       Statement statement,
+                       ResultSet resultSet,
+                       JdbcToArrowConfig config,
+                       List<String> dictionaryColumns,
+                       boolean dictionaryAutoDetect,
+                       int dictionaryMaxSize)
+            throws SQLException, IOException {
         super(config.getAllocator());
         this.connection = connection;
         this.statement = statement;
         this.resultSet = resultSet;
+        this.dictionaryColumns = dictionaryColumns;
+        this.dictionaryMaxSize = dictionaryMaxSize;
+        final ResultSetMetaData metaData = resultSet.getMetaData();
         this.delegate = JdbcToArrow.sqlToArrowVectorIterator(resultSet, config);
-        this.schema = JdbcToArrowUtils.jdbcToArrowSchema(resultSet.getMetaData(), config);
+        try {
+            Schema resultSchema = JdbcToArrowUtils.jdbcToArrowSchema(metaData, config);
+            if (dictionaryAutoDetect && hasDictionaryCandidate(metaData) && delegate.hasNext()) {
+                // The schema must be decided before the first batch is returned,
+                // so we read the first batch ahead.
+                sampleBatch = delegate.next();
+            }
+            this.schema = dictionaryEncodeSchema(resultSchema, metaData, dictionaryColumns, sampleBatch, dictionaryMaxSize);
+        } catch (SQLException | RuntimeException e) {
+            // the sample batch is owned by the delegate.
+            // The caller closes the result set, statement and connection.
+            delegate.close();
+            if (e instanceof SQLException) {
+                throw (SQLException) e;
+            }
+            throw new IOException("failed to read the sample batch", e);
+        }
+    }
+
+    /**
+     * Test whether the column is a real CHAR/VARCHAR column, which may be dictionary-encoded automatically.
+     * The other types mapped to VARCHAR, such as DATE, TIMESTAMP and CLOB, usually have too many distinct values.
+     */
+    private static boolean isDictionaryCandidate(ResultSetMetaData metaData, int columnIndex) throws SQLException {
+        switch (metaData.getColumnType(columnIndex)) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean hasDictionaryCandidate(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (isDictionaryCandidate(metaData, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDictionaryColumn(List<String> dictionaryColumns, Field field) {
+        return dictionaryColumns.stream().anyMatch(name -> name.equalsIgnoreCase(field.getName()));
+    }
+
+    private static Schema dictionaryEncodeSchema(Schema resultSchema,
+                                                 ResultSetMetaData metaData,
+                                                 List<String> dictionaryColumns,
+                                                 VectorSchemaRoot sampleBatch,
+                                                 int dictionaryMaxSize) throws SQLException {
+        for (String name : dictionaryColumns) {
+            boolean found = resultSchema.getFields().stream()
+                    .anyMatch(field -> field.getName().equalsIgnoreCase(name) && field.getType() instanceof ArrowType.Utf8);
+            if (!found) {
+                logger.warn("dictionary column '{}' is not a VARCHAR column of the result and is ignored", name);
+            }
+        }
+
+        List<Field> fields = new ArrayList<>(resultSchema.getFields().size());
+        for (int i = 0; i < resultSchema.getFields().size(); i++) {
+            Field field = resultSchema.getFields().get(i);
+            if (!(field.getType() instanceof ArrowType.Utf8)) {
+                fields.add(field);
+                continue;
+            }
+
+            boolean encode = isDictionaryColumn(dictionaryColumns, field);
+            if (!encode && sampleBatch != null && isDictionaryCandidate(metaData, i + 1)) {
+                encode = VarCharDictionaryEncoder.isLowCardinality(
+                        (VarCharVector) sampleBatch.getVector(i), dictionaryMaxSize);
+            }
+
+            if (encode) {
+                logger.info("column '{}' will be dictionary-encoded", field.getName());
+                FieldType fieldType = new FieldType(field.isNullable(), field.getType(),
+                        VarCharDictionaryEncoder.createEncoding(i), field.getMetadata());
+                fields.add(new Field(field.getName(), fieldType, field.getChildren()));
+            } else {
+                fields.add(field);
+            }
+        }
+        return new Schema(fields, resultSchema.getCustomMetadata());
+    }
+
+    @Override
+    protected void initialize() throws IOException {
+        super.initialize();
+        initDictionaryEncoders();
+    }
+
+    private void initDictionaryEncoders() {
+        List<Field> fields = schema.getFields();
+        VarCharDictionaryEncoder[] encoders = new VarCharDictionaryEncoder[fields.size()];
+        boolean anyEncoded = false;
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            if (field.getDictionary() != null) {
+                // the dictionary vectors are created and owned by ArrowReader
+                VarCharVector dictionary = (VarCharVector) dictionaries.get(field.getDictionary().getId()).getVector();
+                encoders[i] = new VarCharDictionaryEncoder(field.getName(), allocator, dictionary, dictionaryMaxSize,
+                        isDictionaryColumn(dictionaryColumns, field));
+                anyEncoded = true;
+            }
+        }
+        dictionaryEncoders = anyEncoded ? encoders : null;
+    }
+
+    /**
+     * Replace the dictionary-encoded columns with the index vectors.
+     * The vectors are not owned by the returned root, so it shouldn't be closed.
+     */
+    private VectorSchemaRoot dictionaryEncode(VectorSchemaRoot root) throws IOException {
+        List<Field> fields = new ArrayList<>(root.getFieldVectors().size());
+        List<FieldVector> vectors = new ArrayList<>(root.getFieldVectors().size());
+        for (int i = 0; i < root.getFieldVectors().size(); i++) {
+            FieldVector vector = root.getVector(i);
+            if (dictionaryEncoders[i] != null) {
+                vector = dictionaryEncoders[i].encode((VarCharVector) vector);
+            }
+            fields.add(vector.getField());
+            vectors.add(vector);
+        }
+        return new VectorSchemaRoot(fields, vectors, root.getRowCount());
     }
 
     @Override
     public boolean loadNextBatch() throws IOException {
-        if (!delegate.hasNext()) return false;
+        ensureInitialized();
+
+        VectorSchemaRoot root;
+        if (sampleBatch != null) {
+            root = sampleBatch;
+            sampleBatch = null;
+        } else if (delegate.hasNext()) {
+            root = delegate.next();
+        } else {
+            return false;
+        }
 
         // root will be reused, so we can't close it
-        final VectorSchemaRoot root = delegate.next();
+        if (dictionaryEncoders != null) {
+            root = dictionaryEncode(root);
+        }
         final VectorUnloader unloader = new VectorUnloader(root);
         try (final ArrowRecordBatch recordBatch = unloader.getRecordBatch()) {
             long thisBytesRead = recordBatch.computeBodyLength();
@@ -88,6 +267,13 @@ public class JdbcScanner extends ArrowReader {
     @Override
     protected void closeReadSource() throws IOException {
         try {
+            if (dictionaryEncoders != null) {
+                for (VarCharDictionaryEncoder encoder : dictionaryEncoders) {
+                    if (encoder != null) {
+                        encoder.close();
+                    }
+                }
+            }
             delegate.close();
 
             if (!resultSet.isClosed()) {
@@ -98,7 +284,7 @@ public class JdbcScanner extends ArrowReader {
                 statement.close();
             }
 
-            if (!connection.isClosed()) {
+            if (connection != null && !connection.isClosed()) {
                 connection.close();
             }
         } catch (SQLException e) {
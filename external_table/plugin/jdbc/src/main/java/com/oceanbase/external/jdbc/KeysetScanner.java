@@ -0,0 +1,305 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scan a table chunk by chunk in the order of a unique key.
+ * <p>
+ * Every chunk is a short query `WHERE key > last_key ORDER BY key LIMIT chunk_size`, so
+ * we needn't hold a long-running query on the data source. If a chunk fails with a transient
+ * error, such as a socket reset, it's reopened from the last key delivered, so the rows
+ * delivered are neither lost nor duplicated.
+ * </p>
+ * <p>
+ * The key is compared with the last key in SQL, so it must be an integer, a decimal or a string.
+ * </p>
+ */
+public class KeysetScanner extends ArrowReader {
+    private final static Logger logger = LoggerFactory.getLogger(KeysetScanner.class);
+
+    private final static long RETRY_INTERVAL_MS = 1000;
+
+    /**
+     * Open the scanner of the chunk after the last key.
+     * The chunks may share resources, such as the connection, which are released by {@link #close()}.
+     */
+    public interface ChunkOpener extends AutoCloseable {
+        /**
+         * @param lastKey the last key delivered, null for the first chunk.
+         */
+        ArrowReader open(Object lastKey) throws IOException;
+
+        /**
+         * Release the shared resources after a transient error, so the next chunk reconnects.
+         */
+        default void reset() {
+        }
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    private final ChunkOpener opener;
+    private final int keyIndex;
+    private final boolean dropKeyColumn;
+    private final long chunkSize;
+    private final int maxRetries;
+    private final long retryIntervalMs;
+    private final Schema schema;
+
+    private ArrowReader chunk;
+    private long rowsInChunk = 0;
+    private boolean finished = false;
+    private Object lastKey;
+    private long bytesRead;
+
+    /**
+     * @param keyIndex the index of the key column in the chunk scanner.
+     * @param dropKeyColumn whether the key column is not selected by user, so it shouldn't be returned.
+     *                      The key column must be the last one if it's dropped.
+     * @param chunkSize how many rows in a chunk.
+     * @param maxRetries how many times to retry continuously after transient errors.
+     */
+    public KeysetScanner(BufferAllocator allocator,
+                         ChunkOpener opener,
+                         int keyIndex,
+                         boolean dropKeyColumn,
+                         long chunkSize,
+                         int maxRetries) throws IOException {
+        this(allocator, opener, keyIndex, dropKeyColumn, chunkSize, maxRetries, RETRY_INTERVAL_MS);
+    }
+
+    /**
+     * @param retryIntervalMs the interval before the first retry, which grows linearly.
+     */
+    KeysetScanner(BufferAllocator allocator,
+                  ChunkOpener opener,
+                  int keyIndex,
+                  boolean dropKeyColumn,
+                  long chunkSize,
+                  int maxRetries,
+                  long retryIntervalMs) throws IOException {
+        super(allocator);
+        this.opener = opener;
+        this.keyIndex = keyIndex;
+        this.dropKeyColumn = dropKeyColumn;
+        this.chunkSize = chunkSize;
+        this.maxRetries = maxRetries;
+        this.retryIntervalMs = retryIntervalMs;
+
+        // open the first chunk here to get the schema and fail fast.
+        try {
+            openFirstChunk();
+            List<Field> fields = new ArrayList<>(chunk.getVectorSchemaRoot().getSchema().getFields());
+            checkKeyType(fields.get(keyIndex));
+            if (dropKeyColumn) {
+                fields.remove(keyIndex);
+            }
+            this.schema = new Schema(fields);
+        } catch (IOException | RuntimeException e) {
+            closeChunkQuietly();
+            try {
+                opener.close();
+            } catch (IOException ex) {
+                e.addSuppressed(ex);
+            }
+            throw e;
+        }
+    }
+
+    private void openFirstChunk() throws IOException {
+        int failures = 0;
+        while (chunk == null) {
+            try {
+                chunk = opener.open(null);
+            } catch (Exception e) {
+                handleFailure(e, ++failures);
+            }
+        }
+    }
+
+    private static void checkKeyType(Field field) throws IOException {
+        switch (field.getType().getTypeID()) {
+            case Int:
+            case Decimal:
+            case Utf8:
+            case LargeUtf8:
+                return;
+            default:
+                throw new IOException(String.format(
+                        "the type of keyset column %s is %s, only integer, decimal and string are supported",
+                        field.getName(), field.getType()));
+        }
+    }
+
+    @Override
+    public boolean loadNextBatch() throws IOException {
+        ensureInitialized();
+
+        int failures = 0;
+        while (!finished) {
+            try {
+                if (chunk == null) {
+                    logger.debug("open the chunk after key {}", lastKey);
+                    chunk = opener.open(lastKey);
+                    rowsInChunk = 0;
+                }
+
+                if (!chunk.loadNextBatch()) {
+                    // the last batch has been consumed, release it so the chunk's buffers can be recycled.
+                    getVectorSchemaRoot().clear();
+                    closeChunk();
+                    // a chunk with fewer rows than the limit is the last one
+                    finished = rowsInChunk < chunkSize;
+                    continue;
+                }
+
+                final VectorSchemaRoot root = chunk.getVectorSchemaRoot();
+                if (root.getRowCount() == 0) {
+                    continue;
+                }
+
+                Object key = root.getVector(keyIndex).getObject(root.getRowCount() - 1);
+                if (key == null) {
+                    throw new IOException("the keyset column shouldn't contain null value: " + root.getVector(keyIndex).getName());
+                }
+                load(root);
+                lastKey = key;
+                rowsInChunk += root.getRowCount();
+                return true;
+            } catch (Exception e) {
+                handleFailure(e, ++failures);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Close the chunk and wait to retry if the error is transient, otherwise throw it.
+     * @param failures how many times it has failed continuously.
+     */
+    private void handleFailure(Exception e, int failures) throws IOException {
+        closeChunkQuietly();
+        if (!isTransientError(e) || failures > maxRetries) {
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+
+        // the connection may be broken, so reconnect
+        opener.reset();
+        logger.warn("got transient error, retry({}/{}) to scan from key {}", failures, maxRetries, lastKey, e);
+        try {
+            Thread.sleep(retryIntervalMs * failures);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting to retry", ex);
+        }
+    }
+
+    private void load(VectorSchemaRoot root) {
+        if (dropKeyColumn) {
+            // the vectors are not owned by the new root, so it shouldn't be closed.
+            List<FieldVector> vectors = new ArrayList<>(root.getFieldVectors());
+            vectors.remove(keyIndex);
+            root = new VectorSchemaRoot(schema.getFields(), vectors, root.getRowCount());
+        }
+
+        final VectorUnloader unloader = new VectorUnloader(root);
+        try (final ArrowRecordBatch recordBatch = unloader.getRecordBatch()) {
+            bytesRead += recordBatch.computeBodyLength();
+            loadRecordBatch(recordBatch);
+        }
+    }
+
+    /**
+     * Test whether the error is caused by connection problems, which can be recovered by reconnecting.
+     */
+    static boolean isTransientError(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SocketException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+            // SQLSTATE class 08 means connection exception
+            if (cause instanceof SQLException && ((SQLException) cause).getSQLState() != null
+                    && ((SQLException) cause).getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void closeChunk() throws IOException {
+        if (chunk != null) {
+            ArrowReader reader = chunk;
+            chunk = null;
+            reader.close();
+        }
+    }
+
+    private void closeChunkQuietly() {
+        try {
+            closeChunk();
+        } catch (Exception e) {
+            logger.info("failed to close the chunk scanner after key {}", lastKey, e);
+        }
+    }
+
+    @Override
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    protected void closeReadSource() throws IOException {
+        try {
+            closeChunk();
+        } finally {
+            opener.close();
+        }
+    }
+
+    @Override
+    protected Schema readSchema() throws IOException {
+        return schema;
+    }
+}
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -56,34 +57,98 @@ public class QueryBuilder {
         }
         sb.append(" FROM ").append(quoteString(jdbcConfig.table, identifierQuote));
 
-        /// The filters were created by {@link JdbcDataSource.pushdownFilters}
-        List<String> filters = tableScanParameter.getSqlFilters();
+        List<String> filters = buildQueryFilters(tableScanParameter);
         if (!filters.isEmpty()) {
-            logger.debug("filters is : {}", filters);
-            // NOTE we must convert the elements to string as the MessageFormat would like to format
-            // the elements friendly to human. For example, the number 1000000 would be formatted to
-            // 1,000,000 which is not a valid sql.
             sb.append(" WHERE ");
-            String filterSql;
-            if (!tableScanParameter.getQuestionMarkValues().isEmpty()) {
-                Object[] questionMarkStringValues = tableScanParameter.getQuestionMarkValues().stream()
-                    .map(QueryBuilder::toSqlString)
-                    .toArray();
+            sb.append(String.join(" AND ", filters));
+        }
+        return sb.toString();
+    }
 
-                // `'` is a special character in MessageFormat.
-                // we should replace `'` to `''`.
-                filterSql = filters.stream()
-                    .map(filter -> MessageFormat.format(
-                        filter.replace("'", "''"), questionMarkStringValues))
-                    .collect(Collectors.joining(" AND "));
-            } else {
-                filterSql = String.join(" AND ", filters);
-            }
-            sb.append(filterSql);
+    /**
+     * Build the JDBC query SQL string to scan a chunk of the table in keyset order.
+     * The keyset column is appended to the select list if it's not selected.
+     * @param afterLastKey whether to scan after the last key of the previous chunk, which is false for the
+     *                     first chunk. The last key is a parameter `?` of the query instead of a literal,
+     *                     because the literals are escaped differently by the databases, such as `\` in MySQL.
+     * @param limit how many rows in the chunk.
+     * @return The Query SQL String
+     */
+    public String buildKeysetQuery(TableScanParameter tableScanParameter, JdbcConfig jdbcConfig, boolean afterLastKey, long limit) {
+        final String keyColumn = quoteString(jdbcConfig.keyset_column, identifierQuote);
+        StringBuilder sb = new StringBuilder("SELECT ");
+        if (tableScanParameter.getColumns().isEmpty()) {
+            sb.append(1);
+        } else {
+            sb.append(tableScanParameter.getColumns().stream()
+                    .map(columnName -> quoteString(columnName, identifierQuote))
+                    .collect(Collectors.joining(",")));
+        }
+        if (!isKeysetColumnSelected(tableScanParameter, jdbcConfig)) {
+            sb.append(',').append(keyColumn);
+        }
+        sb.append(" FROM ").append(quoteString(jdbcConfig.table, identifierQuote));
+
+        // the filters are enclosed in parentheses as they may contain `OR`
+        List<String> filters = buildQueryFilters(tableScanParameter).stream()
+                .map(filter -> "(" + filter + ")")
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (afterLastKey) {
+            filters.add(keyColumn + ">?");
+        }
+        if (!filters.isEmpty()) {
+            sb.append(" WHERE ").append(String.join(" AND ", filters));
         }
+        sb.append(" ORDER BY ").append(keyColumn);
+        appendLimit(sb, limit);
         return sb.toString();
     }
 
+    public boolean isKeysetColumnSelected(TableScanParameter tableScanParameter, JdbcConfig jdbcConfig) {
+        return tableScanParameter.getColumns().stream()
+                .anyMatch(columnName -> columnName.equalsIgnoreCase(jdbcConfig.keyset_column));
+    }
+
+    /**
+     * Append the clause to limit the number of rows, which is after the `ORDER BY` clause.
+     */
+    protected void appendLimit(StringBuilder sb, long limit) {
+        sb.append(" LIMIT ").append(limit);
+    }
+
+    /**
+     * Build the filters in the `WHERE` conditions, which should be joined with `AND`.
+     * The question marks in the filters are replaced by the values.
+     * @param tableScanParameter contains the information about the query.
+     * @return The SQL query elements. For example, a=1, (b>100) or (c in ('x', 'y')).
+     */
+    public List<String> buildQueryFilters(TableScanParameter tableScanParameter) {
+        /// The filters were created by {@link JdbcDataSource.pushdownFilters}
+        List<String> filters = tableScanParameter.getSqlFilters();
+        if (filters.isEmpty()) {
+            return filters;
+        }
+
+        logger.debug("filters is : {}", filters);
+        if (tableScanParameter.getQuestionMarkValues().isEmpty()) {
+            return filters;
+        }
+
+        // NOTE we must convert the elements to string as the MessageFormat would like to format
+        // the elements friendly to human. For example, the number 1000000 would be formatted to
+        // 1,000,000 which is not a valid sql.
+        Object[] questionMarkStringValues = tableScanParameter.getQuestionMarkValues().stream()
+            .map(QueryBuilder::toSqlString)
+            .toArray();
+
+        // `'` is a special character in MessageFormat.
+        // we should replace `'` to `''`.
+        return filters.stream()
+            .map(filter -> MessageFormat.format(
+                filter.replace("'", "''"), questionMarkStringValues))
+            .collect(Collectors.toList());
+    }
+
     /**
      * Convert filter expressions into SQL query elements in the `WHERE` conditions
      * @param sqlFilter The filter expression
@@ -240,6 +305,13 @@ public class QueryBuilder {
         return Objects.toString(object);
     }
 
+    /**
+     * Quote the column or table name, for example, `a` in MySQL.
+     */
+    public String quoteIdentifier(String name) {
+        return quoteString(name, identifierQuote);
+    }
+
     private static String quoteString(Object str, String quote) {
         return quote + str + quote;
     }
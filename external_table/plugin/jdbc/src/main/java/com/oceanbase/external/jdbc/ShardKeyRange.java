@@ -0,0 +1,119 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The range [min, max] of the shard key in a shard.
+ * It's used to skip the shards which can't match the filters built by {@link QueryBuilder}.
+ * <p>
+ * Only the simple filters on the shard key and numeric constant values are recognized, such as
+ * `key`=1, `key`<=100, `key` BETWEEN 1 AND 100 and `key` IN (1, 2, 3). The other filters are
+ * treated as 'may match' so a shard won't be skipped by mistake.
+ * The key is matched case-insensitively, as the column names are case-insensitive in most databases.
+ * </p>
+ */
+public class ShardKeyRange {
+    private static final String NUMBER = "([-+]?[0-9]+(?:\\.[0-9]+)?(?:[eE][-+]?[0-9]+)?)";
+
+    /// null means no limit
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    public ShardKeyRange(BigDecimal min, BigDecimal max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public static ShardKeyRange of(String min, String max) {
+        return new ShardKeyRange(min == null ? null : new BigDecimal(min), max == null ? null : new BigDecimal(max));
+    }
+
+    /**
+     * Test whether the rows in this range may match all the filters.
+     * @param quotedKey the shard key quoted by {@link QueryBuilder#quoteIdentifier(String)}
+     * @param filters the filters built by {@link QueryBuilder#buildQueryFilters}, which are joined with `AND`
+     */
+    public boolean mayMatch(String quotedKey, List<String> filters) {
+        final String key = Pattern.quote(quotedKey);
+        final Pattern comparePattern = Pattern.compile("^" + key + "(<>|<=|>=|=|<|>)" + NUMBER + "$",
+                Pattern.CASE_INSENSITIVE);
+        final Pattern betweenPattern = Pattern.compile("^" + key + " BETWEEN " + NUMBER + " AND " + NUMBER + "$",
+                Pattern.CASE_INSENSITIVE);
+        final Pattern inPattern = Pattern.compile("^" + key + " IN \\((.*)\\)$", Pattern.CASE_INSENSITIVE);
+
+        for (String filter : filters) {
+            String trimmed = filter.trim();
+            Matcher matcher = comparePattern.matcher(trimmed);
+            if (matcher.matches() && !mayMatch(matcher.group(1), new BigDecimal(matcher.group(2)))) {
+                return false;
+            }
+
+            matcher = betweenPattern.matcher(trimmed);
+            if (matcher.matches()
+                    && !(mayMatch(">=", new BigDecimal(matcher.group(1))) && mayMatch("<=", new BigDecimal(matcher.group(2))))) {
+                return false;
+            }
+
+            matcher = inPattern.matcher(trimmed);
+            if (matcher.matches() && !mayMatchAny(matcher.group(1).split(","))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean mayMatchAny(String[] values) {
+        final Pattern numberPattern = Pattern.compile(NUMBER);
+        for (String value : values) {
+            String trimmed = value.trim();
+            if (!numberPattern.matcher(trimmed).matches() || mayMatch("=", new BigDecimal(trimmed))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean mayMatch(String op, BigDecimal value) {
+        switch (op) {
+            case "=":
+                return (min == null || min.compareTo(value) <= 0) && (max == null || max.compareTo(value) >= 0);
+            case "<":
+                return min == null || min.compareTo(value) < 0;
+            case "<=":
+                return min == null || min.compareTo(value) <= 0;
+            case ">":
+                return max == null || max.compareTo(value) > 0;
+            case ">=":
+                return max == null || max.compareTo(value) >= 0;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "[" + min + ", " + max + "]";
+    }
+}
@@ -0,0 +1,233 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scan several shards in parallel and merge the results into one stream.
+ * <p>
+ * Every shard is scanned by an {@link ArrowReader} in a worker thread, and at most `parallelism`
+ * shards are scanned at the same time. A worker hands over its batch to this reader and waits
+ * until the batch is consumed, because the vectors of the shard reader are reused by the next batch.
+ * So the memory is bounded by `parallelism` batches.
+ * </p>
+ */
+public class ShardedScanner extends ArrowReader {
+    private final static Logger logger = LoggerFactory.getLogger(ShardedScanner.class);
+
+    private final static AtomicInteger threadIndex = new AtomicInteger();
+
+    /**
+     * Open the scanner of a shard.
+     */
+    public interface ShardScannerOpener {
+        ArrowReader open() throws IOException;
+    }
+
+    /**
+     * A batch produced by a shard worker.
+     * It's the end of the shard if both root and error are null.
+     */
+    private static class ShardBatch {
+        final String shardName;
+        final VectorSchemaRoot root;
+        final Throwable error;
+        final CountDownLatch consumed = new CountDownLatch(1);
+
+        ShardBatch(String shardName, VectorSchemaRoot root, Throwable error) {
+            this.shardName = shardName;
+            this.root = root;
+            this.error = error;
+        }
+    }
+
+    private final Schema schema;
+    private final int shardCount;
+    private final ExecutorService executor;
+    private final BlockingQueue<ShardBatch> batchQueue = new LinkedBlockingQueue<>();
+    /// the first shard is opened by the caller, and it's taken by the worker.
+    /// It should be closed here if the worker never takes it.
+    private final AtomicReference<ArrowReader> pendingFirstShard;
+    private volatile boolean closed = false;
+    private int finishedShards = 0;
+    private ShardBatch currentBatch;
+    private long bytesRead;
+
+    /**
+     * @param firstShardName the name of the first shard, which is used to print logs.
+     * @param firstShard the scanner of the first shard, which has been opened and provides the schema.
+     * @param otherShards the openers of the other shards, the key is the name of the shard.
+     * @param parallelism how many shards can be scanned at the same time.
+     */
+    public ShardedScanner(BufferAllocator allocator,
+                          String firstShardName,
+                          ArrowReader firstShard,
+                          Map<String, ShardScannerOpener> otherShards,
+                          int parallelism) throws IOException {
+        super(allocator);
+        this.schema = firstShard.getVectorSchemaRoot().getSchema();
+        this.shardCount = otherShards.size() + 1;
+        this.pendingFirstShard = new AtomicReference<>(firstShard);
+
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        this.executor = Executors.newFixedThreadPool(Math.min(parallelism, shardCount), runnable -> {
+            Thread thread = new Thread(() -> {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                runnable.run();
+            }, "jdbc-shard-scanner-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        executor.execute(() -> scanShard(firstShardName, () -> pendingFirstShard.getAndSet(null)));
+        otherShards.forEach((shardName, opener) -> executor.execute(() -> scanShard(shardName, opener)));
+        executor.shutdown();
+    }
+
+    private void scanShard(String shardName, ShardScannerOpener opener) {
+        if (closed) {
+            batchQueue.add(new ShardBatch(shardName, null, null));
+            return;
+        }
+
+        Throwable error = null;
+        long rowCount = 0;
+        try (ArrowReader reader = opener.open()) {
+            Schema shardSchema = reader.getVectorSchemaRoot().getSchema();
+            if (!schema.equals(shardSchema)) {
+                throw new IOException(String.format("the schema of shard %s is different. expect %s but got %s",
+                        shardName, schema, shardSchema));
+            }
+
+            while (!closed && reader.loadNextBatch()) {
+                ShardBatch batch = new ShardBatch(shardName, reader.getVectorSchemaRoot(), null);
+                rowCount += batch.root.getRowCount();
+                batchQueue.add(batch);
+                batch.consumed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            error = e;
+        }
+
+        logger.info("shard {} scanned {} rows", shardName, rowCount);
+        batchQueue.add(new ShardBatch(shardName, null, error));
+    }
+
+    @Override
+    public boolean loadNextBatch() throws IOException {
+        ensureInitialized();
+        // the current batch has been consumed. Release it before the worker goes on,
+        // so the worker can recycle the buffers when the shard is finished.
+        getVectorSchemaRoot().clear();
+        releaseCurrentBatch();
+
+        while (finishedShards < shardCount) {
+            ShardBatch batch;
+            try {
+                batch = batchQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for shard batches", e);
+            }
+
+            if (batch.root == null) {
+                finishedShards++;
+                if (batch.error != null) {
+                    throw new IOException("failed to scan shard " + batch.shardName, batch.error);
+                }
+                continue;
+            }
+
+            currentBatch = batch;
+            final VectorUnloader unloader = new VectorUnloader(batch.root);
+            try (final ArrowRecordBatch recordBatch = unloader.getRecordBatch()) {
+                bytesRead += recordBatch.computeBodyLength();
+                loadRecordBatch(recordBatch);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /// Let the worker continue to read the next batch.
+    private void releaseCurrentBatch() {
+        if (currentBatch != null) {
+            currentBatch.consumed.countDown();
+            currentBatch = null;
+        }
+    }
+
+    @Override
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    protected void closeReadSource() throws IOException {
+        closed = true;
+        releaseCurrentBatch();
+        executor.shutdownNow();
+        try {
+            // the shard scanners are closed by workers, so wait the workers to release the memory.
+            do {
+                batchQueue.forEach(batch -> batch.consumed.countDown());
+            } while (!executor.awaitTermination(1, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while closing shard scanners", e);
+        }
+        batchQueue.clear();
+
+        // the worker of the first shard found the scanner closed before opening it
+        ArrowReader firstShard = pendingFirstShard.getAndSet(null);
+        if (firstShard != null) {
+            firstShard.close();
+        }
+    }
+
+    @Override
+    protected Schema readSchema() throws IOException {
+        return schema;
+    }
+}
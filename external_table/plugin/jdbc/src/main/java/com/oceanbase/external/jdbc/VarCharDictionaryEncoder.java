@@ -0,0 +1,194 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.util.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Encode a VARCHAR column into a dictionary-encoded column.
+ * <p>
+ * The dictionary is shared by the batches, so the same value is stored only once and the indexes
+ * of a value are the same in all batches. The whole dictionary is exported with every batch, so
+ * the size of the dictionary is limited.
+ * </p>
+ * <p>
+ * If the dictionary is full, the scan fails if {@code failWhenFull} is set, as the column is
+ * chosen by user. Otherwise, such as the column detected automatically, a new dictionary is
+ * started for the batch. It works because every batch is exported with its dictionary.
+ * </p>
+ */
+public class VarCharDictionaryEncoder implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger(VarCharDictionaryEncoder.class);
+
+    public static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+    /**
+     * A sampled column is encoded if the number of distinct values is not greater than
+     * `rowCount * MAX_DISTINCT_RATIO`.
+     */
+    public static final double MAX_DISTINCT_RATIO = 0.25;
+
+    /// The default maximum number of distinct values in a dictionary
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final Map<Text, Integer> indexes = new HashMap<>();
+    private final int maxSize;
+    private final boolean failWhenFull;
+    private final IntVector indexVector;
+    private final VarCharVector dictionary;
+    /// how many times a new dictionary is started because the dictionary is full
+    private int restarts = 0;
+
+    /**
+     * @param name the name of the index vector
+     * @param allocator used to allocate the index vector
+     * @param dictionary the dictionary vector that will be exported with the batches
+     * @param maxSize the maximum number of distinct values in the dictionary
+     * @param failWhenFull whether to fail if the dictionary is full, otherwise start a new dictionary
+     */
+    public VarCharDictionaryEncoder(String name,
+                                    BufferAllocator allocator,
+                                    VarCharVector dictionary,
+                                    int maxSize,
+                                    boolean failWhenFull) {
+        this.indexVector = new IntVector(name, allocator);
+        this.dictionary = dictionary;
+        this.maxSize = maxSize;
+        this.failWhenFull = failWhenFull;
+        this.dictionary.allocateNewSafe();
+    }
+
+    public static DictionaryEncoding createEncoding(long id) {
+        return new DictionaryEncoding(id, false, INDEX_TYPE);
+    }
+
+    /**
+     * Check if a column with the values in the vector is worth to encode.
+     * @param maxSize the maximum number of distinct values in the dictionary
+     */
+    public static boolean isLowCardinality(VarCharVector vector, int maxSize) {
+        final int rowCount = vector.getValueCount();
+        if (rowCount == 0) {
+            return false;
+        }
+        final long maxDistinct = Math.min((long) (rowCount * MAX_DISTINCT_RATIO), maxSize);
+        Set<Text> distinctValues = new HashSet<>();
+        for (int i = 0; i < rowCount; i++) {
+            if (!vector.isNull(i)) {
+                distinctValues.add(vector.getObject(i));
+                if (distinctValues.size() > maxDistinct) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encode the values into the index vector and append new values into the dictionary.
+     * @return the index vector, which is reused by the next call.
+     * @throws IOException if the number of distinct values exceeds the max size and `failWhenFull` is set
+     */
+    public IntVector encode(VarCharVector vector) throws IOException {
+        // a new dictionary only contains the values of this batch, so it's never too large to export
+        if (!tryEncode(vector, failWhenFull || !indexes.isEmpty())) {
+            if (restarts++ == 0) {
+                logger.info("the dictionary of column '{}' is full, start a new dictionary for the batch",
+                        indexVector.getName());
+            }
+            indexes.clear();
+            // the buffers may be still referenced by the exported batches, so allocate new ones
+            dictionary.clear();
+            dictionary.allocateNewSafe();
+            tryEncode(vector, false);
+        }
+        return indexVector;
+    }
+
+    /**
+     * @param limited whether the size of the dictionary is limited by `maxSize`
+     * @return false if the dictionary is full
+     */
+    private boolean tryEncode(VarCharVector vector, boolean limited) throws IOException {
+        final int rowCount = vector.getValueCount();
+        // reset clears the validity buffer and keeps the memory for the next batch
+        indexVector.reset();
+        while (indexVector.getValueCapacity() < rowCount) {
+            indexVector.reAlloc();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            if (vector.isNull(i)) {
+                indexVector.setNull(i);
+                continue;
+            }
+
+            byte[] value = vector.get(i);
+            Text key = new Text(value);
+            Integer index = indexes.get(key);
+            if (index == null) {
+                if (limited && indexes.size() >= maxSize) {
+                    if (!failWhenFull) {
+                        return false;
+                    }
+                    throw new IOException(String.format(
+                            "column '%s' has more than %d distinct values, which is too many to be dictionary-encoded. "
+                                    + "Remove it from dictionary_columns or increase dictionary_max_size",
+                            indexVector.getName(), maxSize));
+                }
+                index = indexes.size();
+                dictionary.setSafe(index, value);
+                dictionary.setValueCount(index + 1);
+                indexes.put(key, index);
+            }
+            indexVector.set(i, index);
+        }
+        indexVector.setValueCount(rowCount);
+        return true;
+    }
+
+    public int getDictionarySize() {
+        return indexes.size();
+    }
+
+    /**
+     * @return how many times a new dictionary is started because the dictionary is full
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    @Override
+    public void close() {
+        indexVector.close();
+    }
+}
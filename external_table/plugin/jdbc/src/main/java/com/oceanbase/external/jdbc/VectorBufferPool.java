@@ -0,0 +1,273 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.ReferenceManager;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Recycle the {@link VectorSchemaRoot}s of the scans with the same schema.
+ * <p>
+ * Most scans are short, so allocating and zeroing the buffers and growing the variable width
+ * buffers by doubling take a measurable part of the time. A scan returns its root here when it's
+ * closed, and the next scan of the same schema takes it with the buffers kept. This pool also
+ * remembers the largest data buffer of every variable width column (the high-water mark), so a
+ * new root starts at the right capacity.
+ * </p>
+ * <p>
+ * A root is only recycled if none of its buffers is referenced by others, such as a batch
+ * exported to the C side. The pooled buffers belong to the allocator of the scan, so call
+ * {@link #clear(BufferAllocator)} before closing the allocator.
+ * </p>
+ */
+public class VectorBufferPool implements JdbcToArrowConfig.VectorSchemaRootPool {
+    private final static VectorBufferPool instance = new VectorBufferPool();
+
+    /// How many idle roots are kept for a schema. A sharded table may scan several shards at the same time.
+    private final static int MAX_IDLE_ROOTS_PER_SCHEMA = 4;
+    /// The total capacity of the idle roots
+    private final static long MAX_IDLE_BYTES = 64L * 1024 * 1024;
+    /// Don't start with a huge buffer because of a few large values, such as LOBs
+    private final static long MAX_CAPACITY_HINT = 16L * 1024 * 1024;
+    /// How many schemas are remembered. The least recently used one is dropped.
+    private final static int MAX_SCHEMAS = 256;
+
+    private static class Key {
+        final BufferAllocator allocator;
+        final Schema schema;
+
+        Key(BufferAllocator allocator, Schema schema) {
+            this.allocator = allocator;
+            this.schema = schema;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return allocator == other.allocator && schema.equals(other.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(allocator), schema);
+        }
+    }
+
+    private static class Entry {
+        final Deque<VectorSchemaRoot> idleRoots = new ArrayDeque<>();
+        /// the high-water mark of the data buffer of every column, 0 if it's not a variable width vector
+        final long[] dataCapacities;
+
+        Entry(int columnCount) {
+            this.dataCapacities = new long[columnCount];
+        }
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > MAX_SCHEMAS) {
+                discardIdleRoots(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    private long idleBytes = 0;
+
+    public static VectorBufferPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Take an idle root of the schema or create a new one.
+     * @param batchSize how many rows the fixed width vectors can hold at least. No memory is allocated
+     *                  if it's not positive.
+     */
+    @Override
+    public VectorSchemaRoot acquire(BufferAllocator allocator, Schema schema, int batchSize) {
+        long[] dataCapacities = null;
+        VectorSchemaRoot root = null;
+        synchronized (this) {
+            Entry entry = entries.get(new Key(allocator, schema));
+            if (entry != null) {
+                root = entry.idleRoots.pollFirst();
+                if (root != null) {
+                    idleBytes -= capacityOf(root);
+                }
+                dataCapacities = entry.dataCapacities.clone();
+            }
+        }
+
+        if (root == null) {
+            root = VectorSchemaRoot.create(schema, allocator);
+        }
+        try {
+            allocate(root, batchSize, dataCapacities);
+        } catch (Throwable e) {
+            root.close();
+            throw e;
+        }
+        return root;
+    }
+
+    /**
+     * Give back the root acquired from this pool. It's closed if it can't be recycled.
+     */
+    @Override
+    public void release(BufferAllocator allocator, VectorSchemaRoot root) {
+        final List<FieldVector> vectors = root.getFieldVectors();
+        final long capacity = capacityOf(root);
+        final boolean recyclable = !vectors.isEmpty() && !isShared(root);
+
+        synchronized (this) {
+            Entry entry = entries.computeIfAbsent(new Key(allocator, root.getSchema()), key -> new Entry(vectors.size()));
+            for (int i = 0; i < vectors.size(); i++) {
+                if (vectors.get(i) instanceof BaseVariableWidthVector) {
+                    long dataCapacity = ((BaseVariableWidthVector) vectors.get(i)).getDataBuffer().capacity();
+                    entry.dataCapacities[i] = Math.max(entry.dataCapacities[i], Math.min(dataCapacity, MAX_CAPACITY_HINT));
+                }
+            }
+            if (recyclable
+                    && entry.idleRoots.size() < MAX_IDLE_ROOTS_PER_SCHEMA
+                    && idleBytes + capacity <= MAX_IDLE_BYTES) {
+                entry.idleRoots.addFirst(root);
+                idleBytes += capacity;
+                return;
+            }
+        }
+        root.close();
+    }
+
+    /**
+     * Close the idle roots allocated by the allocator.
+     */
+    public void clear(BufferAllocator allocator) {
+        List<Entry> removed = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Key, Entry> entry = it.next();
+                if (entry.getKey().allocator == allocator) {
+                    removed.add(entry.getValue());
+                    it.remove();
+                }
+            }
+            removed.forEach(this::discardIdleRoots);
+        }
+    }
+
+    /// must be called with the lock held
+    private void discardIdleRoots(Entry entry) {
+        for (VectorSchemaRoot root : entry.idleRoots) {
+            idleBytes -= capacityOf(root);
+            root.close();
+        }
+        entry.idleRoots.clear();
+    }
+
+    /**
+     * Test whether the buffers are referenced by others.
+     * The buffers of a vector may be sliced from one allocation, such as the validity and value
+     * buffers, so the reference count of an allocation is compared with the buffers of the root on it.
+     */
+    private static boolean isShared(VectorSchemaRoot root) {
+        Map<ReferenceManager, Integer> references = new IdentityHashMap<>();
+        for (ArrowBuf buffer : buffersOf(root)) {
+            if (buffer.capacity() > 0) {
+                references.merge(buffer.getReferenceManager(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<ReferenceManager, Integer> reference : references.entrySet()) {
+            if (reference.getKey().getRefCount() != reference.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The buffers of the root, including the buffers of the child vectors, such as the
+     * children of a list or struct vector.
+     */
+    private static List<ArrowBuf> buffersOf(VectorSchemaRoot root) {
+        List<ArrowBuf> buffers = new ArrayList<>();
+        Deque<FieldVector> vectors = new ArrayDeque<>(root.getFieldVectors());
+        while (!vectors.isEmpty()) {
+            FieldVector vector = vectors.pollFirst();
+            buffers.addAll(vector.getFieldBuffers());
+            vectors.addAll(vector.getChildrenFromFields());
+        }
+        return buffers;
+    }
+
+    private static void allocate(VectorSchemaRoot root, int batchSize, long[] dataCapacities) {
+        if (batchSize <= 0) {
+            return;
+        }
+        final List<FieldVector> vectors = root.getFieldVectors();
+        for (int i = 0; i < vectors.size(); i++) {
+            FieldVector vector = vectors.get(i);
+            // a recycled vector keeps its buffers unless they are smaller than required,
+            // for example, the vectors are closed when the scan failed.
+            if (vector instanceof BaseFixedWidthVector) {
+                if (vector.getValueCapacity() < batchSize) {
+                    ((BaseFixedWidthVector) vector).allocateNew(batchSize);
+                }
+            } else if (vector instanceof BaseVariableWidthVector && dataCapacities != null && dataCapacities[i] > 0) {
+                BaseVariableWidthVector variableWidthVector = (BaseVariableWidthVector) vector;
+                if (variableWidthVector.getDataBuffer().capacity() == 0) {
+                    variableWidthVector.allocateNew(dataCapacities[i], batchSize);
+                }
+            } else if (!(vector instanceof BaseVariableWidthVector) && vector.getValueCapacity() < batchSize) {
+                // a nested vector, such as a list or struct vector, with its children
+                vector.setInitialCapacity(batchSize);
+                vector.allocateNew();
+            }
+        }
+    }
+
+    private static long capacityOf(VectorSchemaRoot root) {
+        long capacity = 0;
+        for (ArrowBuf buffer : buffersOf(root)) {
+            capacity += buffer.capacity();
+        }
+        return capacity;
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.util.AutoCloseables;
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.types.pojo.ArrowType;
@@ -132,9 +133,14 @@ public class ArrowVectorIterator implements Iterator<VectorSchemaRoot>, AutoClos
     private VectorSchemaRoot createVectorSchemaRoot() throws SQLException {
         VectorSchemaRoot root = null;
         try {
-            root = VectorSchemaRoot.create(schema, config.getAllocator());
-            if (config.getTargetBatchSize() != JdbcToArrowConfig.NO_LIMIT_BATCH_SIZE) {
-                ValueVectorUtility.preAllocate(root, config.getTargetBatchSize());
+            if (config.isReuseVectorSchemaRoot() && config.getBufferPool() != null) {
+                // the pool allocates the fixed width vectors by the batch size too
+                root = config.getBufferPool().acquire(config.getAllocator(), schema, config.getTargetBatchSize());
+            } else {
+                root = VectorSchemaRoot.create(schema, config.getAllocator());
+                if (config.getTargetBatchSize() != JdbcToArrowConfig.NO_LIMIT_BATCH_SIZE) {
+                    ValueVectorUtility.preAllocate(root, config.getTargetBatchSize());
+                }
             }
         } catch (Throwable e) {
             if (root != null) {
@@ -170,7 +176,7 @@ public class ArrowVectorIterator implements Iterator<VectorSchemaRoot>, AutoClos
             if (config.isReuseVectorSchemaRoot()) {
                 // if we are reusing the vector schema root,
                 // we must reset the vector before populating it with data.
-                vec.reset();
+                resetVector(vec);
             }
             consumers[i].resetValueVector(vec);
         }
@@ -178,6 +184,23 @@ public class ArrowVectorIterator implements Iterator<VectorSchemaRoot>, AutoClos
         consumeData(root);
     }
 
+    /**
+     * Reset the vector and keep its buffers.
+     * The data buffer of a variable width vector is not zeroed, because the values are located by
+     * the offsets and the bytes out of the offsets are never read. It saves zeroing the whole data
+     * buffer for every batch, which may be much larger than the validity and offset buffers.
+     */
+    private static void resetVector(FieldVector vec) {
+        if (vec instanceof BaseVariableWidthVector) {
+            BaseVariableWidthVector variableWidthVector = (BaseVariableWidthVector) vec;
+            variableWidthVector.getValidityBuffer().setZero(0, variableWidthVector.getValidityBuffer().capacity());
+            variableWidthVector.getOffsetBuffer().setZero(0, variableWidthVector.getOffsetBuffer().capacity());
+            variableWidthVector.setValueCount(0);
+        } else {
+            vec.reset();
+        }
+    }
+
     @Override
     public boolean hasNext() {
         return !readComplete;
@@ -214,9 +237,16 @@ public class ArrowVectorIterator implements Iterator<VectorSchemaRoot>, AutoClos
      */
     @Override
     public void close() {
-        if (config.isReuseVectorSchemaRoot()) {
-            nextBatch.close();
-            compositeConsumer.close();
+        if (config.isReuseVectorSchemaRoot() && nextBatch != null) {
+            if (config.getBufferPool() != null) {
+                // the consumers hold nothing but the vectors, and closing them closes the vectors,
+                // so only give back the root. The iterator may be closed twice, so give it back only once.
+                config.getBufferPool().release(config.getAllocator(), nextBatch);
+                nextBatch = null;
+            } else {
+                nextBatch.close();
+                compositeConsumer.close();
+            }
         }
     }
 }
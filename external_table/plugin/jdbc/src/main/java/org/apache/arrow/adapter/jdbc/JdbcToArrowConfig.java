@@ -24,7 +24,9 @@ import org.apache.arrow.adapter.jdbc.consumer.JdbcConsumer;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Schema;
 
 /**
  * This class configures the JDBC-to-Arrow conversion process.
@@ -77,6 +79,13 @@ public final class JdbcToArrowConfig {
      */
     private long maxBufferSize;
 
+    /**
+     * valid only {@link JdbcToArrowConfig#reuseVectorSchemaRoot} is true.
+     * Acquire the reused vector schema root from the pool and give it back when the iterator is closed.
+     * Null means disable the pool.
+     */
+    private VectorSchemaRootPool bufferPool;
+
     private final Function<JdbcFieldInfo, ArrowType> jdbcToArrowTypeConverter;
     private final JdbcConsumerFactory jdbcConsumerGetter;
 
@@ -316,6 +325,14 @@ public final class JdbcToArrowConfig {
         this.maxBufferSize = maxBufferSize;
     }
 
+    public VectorSchemaRootPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public void setBufferPool(VectorSchemaRootPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
     /** Get whether it is allowed to reuse the vector schema root. */
     public boolean isReuseVectorSchemaRoot() {
         return reuseVectorSchemaRoot;
@@ -417,4 +434,15 @@ public final class JdbcToArrowConfig {
                 FieldVector vector,
                 JdbcToArrowConfig config);
     }
+
+    /** Interface for a pool that recycles the vector schema roots between the iterators. */
+    public interface VectorSchemaRootPool {
+        /**
+         * Take a root of the schema, whose fixed width vectors can hold `batchSize` rows at least.
+         */
+        VectorSchemaRoot acquire(BufferAllocator allocator, Schema schema, int batchSize);
+
+        /** Give back the root acquired from this pool. */
+        void release(BufferAllocator allocator, VectorSchemaRoot root);
+    }
 }
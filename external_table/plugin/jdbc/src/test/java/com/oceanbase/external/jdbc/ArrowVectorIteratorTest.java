@@ -0,0 +1,152 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.adapter.jdbc.ArrowVectorIterator;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The reused vectors of {@link ArrowVectorIterator} keep the data buffers, so a batch with
+ * shorter values must not expose the bytes of the previous batch.
+ */
+public class ArrowVectorIteratorTest {
+    private static final int BATCH_SIZE = 2;
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /// the long values come first, and a value is null in the second batch
+    private static List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"a long value of the first batch", bytes("a long binary of the first batch")});
+        rows.add(new Object[]{"another long value", bytes("another long binary")});
+        rows.add(new Object[]{"x", bytes("y")});
+        rows.add(new Object[]{null, null});
+        rows.add(new Object[]{"", bytes("")});
+        return rows;
+    }
+
+    private JdbcToArrowConfig createConfig(VectorBufferPool pool) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(allocator, calendar)
+                .setReuseVectorSchemaRoot(true)
+                .setJdbcToArrowTypeConverter(JdbcTypeMapping.getDefaultTypeMapping(calendar))
+                .setJdbcConsumerGetter(JdbcTypeMapping.getJdbcConsumerFactory())
+                .setTargetBatchSize(BATCH_SIZE)
+                .build();
+        config.setBufferPool(pool);
+        return config;
+    }
+
+    /**
+     * Scan the rows and check every batch, including the bytes that are exported by the offsets.
+     */
+    private void scan(JdbcToArrowConfig config) throws Exception {
+        List<Object[]> rows = rows();
+        int rowIndex = 0;
+        VectorSchemaRoot lastRoot = null;
+        try (ArrowVectorIterator iterator = ArrowVectorIterator.create(
+                FakeJdbc.resultSet(Arrays.asList("s", "b"), Arrays.asList(Types.VARCHAR, Types.LONGVARBINARY), rows),
+                config)) {
+            while (iterator.hasNext()) {
+                VectorSchemaRoot root = iterator.next();
+                if (lastRoot != null) {
+                    assertSame(lastRoot, root);
+                }
+                lastRoot = root;
+                for (int column = 0; column < 2; column++) {
+                    BaseVariableWidthVector vector = (BaseVariableWidthVector) root.getVector(column);
+                    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                    for (int i = 0; i < root.getRowCount(); i++) {
+                        Object value = rows.get(rowIndex + i)[column];
+                        byte[] expectedBytes = value instanceof String ? bytes((String) value) : (byte[]) value;
+                        if (expectedBytes == null) {
+                            assertNull(vector.get(i));
+                        } else {
+                            assertArrayEquals(expectedBytes, vector.get(i));
+                            expected.write(expectedBytes);
+                        }
+                    }
+                    int end = vector.getOffsetBuffer().getInt((long) root.getRowCount() * BaseVariableWidthVector.OFFSET_WIDTH);
+                    byte[] data = new byte[end];
+                    vector.getDataBuffer().getBytes(0, data);
+                    assertArrayEquals(expected.toByteArray(), data);
+                }
+                rowIndex += root.getRowCount();
+            }
+        }
+        assertEquals(rows.size(), rowIndex);
+    }
+
+    @Test
+    @DisplayName("the shorter values of a later batch don't leak the previous bytes")
+    public void testShorterValues() throws Exception {
+        scan(createConfig(null));
+        assertEquals(0, allocator.getAllocatedMemory());
+    }
+
+    @Test
+    @DisplayName("the recycled root doesn't leak the bytes of the previous scan")
+    public void testRecycledRoot() throws Exception {
+        VectorBufferPool pool = new VectorBufferPool();
+        try {
+            scan(createConfig(pool));
+            scan(createConfig(pool));
+        } finally {
+            pool.clear(allocator);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Create the fake JDBC objects by {@link Proxy}.
+ */
+final class FakeJdbc {
+    private FakeJdbc() {
+    }
+
+    /**
+     * Create a proxy that calls the handler of the method, or the target if there is no handler.
+     * The default value of the return type is returned if the target is null.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> clazz, T target, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(FakeJdbc.class.getClassLoader(), new Class[]{clazz},
+                (object, method, args) -> {
+                    Function<Object[], Object> handler = methods.get(method.getName());
+                    if (handler != null) {
+                        return handler.apply(args);
+                    }
+                    if (target != null) {
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    }
+                    return returnType == int.class ? 0 : null;
+                });
+    }
+
+    static <T> T proxy(Class<T> clazz, Map<String, Function<Object[], Object>> methods) {
+        return proxy(clazz, null, methods);
+    }
+
+    /**
+     * Create a result set of the rows.
+     * @param names the names of the columns
+     * @param types the types of the columns, refer to {@link Types}
+     * @param rows the values are String, Number or byte[], and null is NULL
+     */
+    static ResultSet resultSet(List<String> names, List<Integer> types, List<Object[]> rows) {
+        Map<String, Function<Object[], Object>> metaDataMethods = new HashMap<>();
+        metaDataMethods.put("getColumnCount", args -> names.size());
+        metaDataMethods.put("getColumnType", args -> types.get((int) args[0] - 1));
+        metaDataMethods.put("getColumnLabel", args -> names.get((int) args[0] - 1));
+        metaDataMethods.put("getColumnName", args -> names.get((int) args[0] - 1));
+        metaDataMethods.put("isNullable", args -> ResultSetMetaData.columnNullable);
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, metaDataMethods);
+
+        int[] row = {-1};
+        boolean[] wasNull = {false};
+        Function<Object[], Object> getValue = args -> {
+            Object value = rows.get(row[0])[(int) args[0] - 1];
+            wasNull[0] = value == null;
+            return value;
+        };
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("getMetaData", args -> metaData);
+        methods.put("next", args -> ++row[0] < rows.size());
+        methods.put("getString", args -> (String) getValue.apply(args));
+        methods.put("getLong", args -> {
+            Number value = (Number) getValue.apply(args);
+            return value == null ? 0L : value.longValue();
+        });
+        methods.put("getBinaryStream", args -> {
+            byte[] value = (byte[]) getValue.apply(args);
+            return value == null ? null : new ByteArrayInputStream(value);
+        });
+        methods.put("wasNull", args -> wasNull[0]);
+        return proxy(ResultSet.class, methods);
+    }
+
+    /// A result set of one VARCHAR column
+    static ResultSet resultSet(String name, List<String> values) {
+        return resultSet(Collections.singletonList(name), Collections.singletonList(Types.VARCHAR),
+                values.stream().map(value -> new Object[]{value}).collect(Collectors.toList()));
+    }
+}
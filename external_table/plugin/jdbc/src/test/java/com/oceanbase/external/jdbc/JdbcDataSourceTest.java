@@ -0,0 +1,177 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import com.oceanbase.external.api.Constants;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JdbcDataSourceTest {
+    private static final String SHARDED_PARAMETERS = "{\"user\":\"root\",\"table\":\"t\",\"shard_key\":\"ID\",\"shards\":["
+            + "{\"jdbc_url\":\"jdbc:mysql://h0/db\",\"key_max\":\"99\"},"
+            + "{\"jdbc_url\":\"jdbc:mysql://h1/db\",\"key_min\":\"100\",\"key_max\":\"199\"},"
+            + "{\"jdbc_url\":\"jdbc:mysql://h2/db\",\"key_min\":\"200\"}]}";
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    private JdbcDataSource createDataSource(String parameters) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.PARAMETERS_KEY, parameters);
+        return new JdbcDataSource(allocator, properties);
+    }
+
+    @Test
+    @DisplayName("skip the shards that don't match the filters")
+    public void testSelectShards() {
+        JdbcDataSource dataSource = createDataSource(SHARDED_PARAMETERS);
+        assertEquals(Arrays.asList("shard-0", "shard-1", "shard-2"),
+                new ArrayList<>(dataSource.selectShards(Collections.emptyList()).keySet()));
+        assertEquals(Collections.singletonList("shard-1"),
+                new ArrayList<>(dataSource.selectShards(Collections.singletonList("id=150")).keySet()));
+        assertEquals(Arrays.asList("shard-1", "shard-2"),
+                new ArrayList<>(dataSource.selectShards(Collections.singletonList("id>=150")).keySet()));
+        // OR can't be used to skip shards
+        assertEquals(3, dataSource.selectShards(Collections.singletonList("(id=1) OR (id=150)")).size());
+
+        Map<String, JdbcConfig> shards = dataSource.selectShards(Collections.singletonList("id=250"));
+        assertEquals("jdbc:mysql://h2/db", shards.get("shard-2").jdbc_url);
+        assertEquals("root", shards.get("shard-2").user);
+        assertEquals("t", shards.get("shard-2").table);
+    }
+
+    @Test
+    @DisplayName("keep the first shard to provide the schema if every shard is skipped")
+    public void testAllShardsSkipped() {
+        JdbcDataSource dataSource = createDataSource(SHARDED_PARAMETERS);
+        Map<String, JdbcConfig> shards = dataSource.selectShards(Arrays.asList("id>=300", "id<=50"));
+        assertEquals(Collections.singletonList("shard-0"), new ArrayList<>(shards.keySet()));
+    }
+
+    @Test
+    @DisplayName("reject the key range that is not a number")
+    public void testInvalidKeyRange() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> createDataSource(
+                "{\"user\":\"root\",\"table\":\"t\",\"shard_key\":\"id\",\"shards\":["
+                        + "{\"jdbc_url\":\"jdbc:mysql://h0/db\",\"key_max\":\"99\"},"
+                        + "{\"jdbc_url\":\"jdbc:mysql://h1/db\",\"key_min\":\"a100\"}]}"));
+        assertTrue(e.getMessage().contains("shard-1"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("the last key of keyset scan is bound as a parameter")
+    public void testKeysetScanWithBackslash() throws IOException {
+        // sorted in the order of String.compareTo, which is the order of the fake database
+        final List<String> table = Arrays.asList("C:\\", "C:\\temp", "C:\\temp\\a", "C:\\temp\\b", "C:\\x", "D:'\\'");
+        final List<String> queries = new ArrayList<>();
+        final List<Object> boundKeys = new ArrayList<>();
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.PARAMETERS_KEY,
+                "{\"jdbc_url\":\"jdbc:mysql://h/db\",\"user\":\"root\",\"table\":\"t\",\"keyset_column\":\"k\",\"keyset_chunk_size\":2}");
+        JdbcDataSource dataSource = new JdbcDataSource(allocator, properties) {
+            @Override
+            protected Connection getConnection(JdbcConfig config) {
+                Map<String, Function<Object[], Object>> methods = new HashMap<>();
+                methods.put("createStatement", args -> {
+                    Map<String, Function<Object[], Object>> statementMethods = new HashMap<>();
+                    statementMethods.put("executeQuery", sql -> FakeJdbc.resultSet("k", query((String) sql[0], null)));
+                    return FakeJdbc.proxy(Statement.class, statementMethods);
+                });
+                methods.put("prepareStatement", args -> {
+                    Object[] parameter = new Object[1];
+                    Map<String, Function<Object[], Object>> statementMethods = new HashMap<>();
+                    statementMethods.put("setObject", values -> parameter[0] = values[1]);
+                    statementMethods.put("executeQuery", values -> {
+                        boundKeys.add(parameter[0]);
+                        return FakeJdbc.resultSet("k", query((String) args[0], (String) parameter[0]));
+                    });
+                    return FakeJdbc.proxy(PreparedStatement.class, statementMethods);
+                });
+                return FakeJdbc.proxy(Connection.class, methods);
+            }
+
+            private List<String> query(String sql, String lastKey) {
+                queries.add(sql);
+                Matcher matcher = Pattern.compile(" LIMIT (\\d+)$").matcher(sql);
+                assertTrue(matcher.find(), sql);
+                return table.stream()
+                        .filter(key -> lastKey == null || key.compareTo(lastKey) > 0)
+                        .limit(Long.parseLong(matcher.group(1)))
+                        .collect(Collectors.toList());
+            }
+        };
+
+        Map<String, Object> scanParameters = new HashMap<>();
+        scanParameters.put("columns", Collections.singletonList("k"));
+        List<String> keys = new ArrayList<>();
+        try (ArrowReader reader = dataSource.createScanner(scanParameters)) {
+            while (reader.loadNextBatch()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                VarCharVector vector = (VarCharVector) root.getVector(0);
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    keys.add(vector.getObject(i).toString());
+                }
+            }
+        }
+
+        assertEquals(table, keys);
+        assertEquals(Arrays.asList("C:\\temp", "C:\\temp\\b", "D:'\\'"), boundKeys);
+        for (String query : queries) {
+            assertFalse(query.contains(":"), "the key shouldn't be a literal in " + query);
+        }
+    }
+}
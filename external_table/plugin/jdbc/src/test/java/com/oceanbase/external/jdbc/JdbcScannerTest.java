@@ -0,0 +1,251 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JdbcScannerTest {
+    private static final int BATCH_SIZE = 8;
+    private static final List<String> NAMES = Arrays.asList("id", "status", "name", "day");
+    private static final List<Integer> TYPES = Arrays.asList(Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.DATE);
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    /**
+     * The rows are (id, status, name, day). The status and day have a few distinct values,
+     * and the name is unique. Every 5th status is null.
+     */
+    private static List<Object[]> rows(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{i, i % 5 == 0 ? null : "S" + (i % 2), "name-" + i, "2025-01-0" + (i % 2 + 1)});
+        }
+        return rows;
+    }
+
+    private JdbcScanner createScanner(ResultSet resultSet,
+                                      List<String> dictionaryColumns,
+                                      boolean dictionaryAutoDetect,
+                                      int dictionaryMaxSize) throws SQLException, IOException {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(allocator, calendar)
+                .setReuseVectorSchemaRoot(true)
+                .setJdbcToArrowTypeConverter(JdbcTypeMapping.getDefaultTypeMapping(calendar))
+                .setJdbcConsumerGetter(JdbcTypeMapping.getJdbcConsumerFactory())
+                .setTargetBatchSize(BATCH_SIZE)
+                .build();
+        return new JdbcScanner(null, FakeJdbc.proxy(java.sql.Statement.class, Collections.emptyMap()), resultSet,
+                config, dictionaryColumns, dictionaryAutoDetect, dictionaryMaxSize);
+    }
+
+    /**
+     * Read the values of the column, and decode it if it's dictionary-encoded.
+     */
+    private static List<String> readColumn(ArrowReader reader, int column) throws IOException {
+        List<String> values = new ArrayList<>();
+        while (reader.loadNextBatch()) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            FieldVector vector = root.getVector(column);
+            DictionaryEncoding encoding = vector.getField().getDictionary();
+            for (int i = 0; i < root.getRowCount(); i++) {
+                Object value = vector.getObject(i);
+                if (value != null && encoding != null) {
+                    value = reader.lookup(encoding.getId()).getVector().getObject((Integer) value);
+                }
+                values.add(value == null ? null : value.toString());
+            }
+        }
+        return values;
+    }
+
+    private static List<String> expectedColumn(List<Object[]> rows, int column) {
+        List<String> values = new ArrayList<>();
+        for (Object[] row : rows) {
+            values.add((String) row[column]);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("the dictionary columns are replaced by the index vectors")
+    public void testDictionaryColumns() throws Exception {
+        List<Object[]> rows = rows(30);
+        try (JdbcScanner scanner = createScanner(FakeJdbc.resultSet(NAMES, TYPES, rows),
+                Arrays.asList("STATUS", "id"), false, 10)) {
+            List<Field> fields = scanner.getVectorSchemaRoot().getSchema().getFields();
+            assertNull(fields.get(0).getDictionary());
+            DictionaryEncoding encoding = fields.get(1).getDictionary();
+            assertNotNull(encoding);
+            assertEquals(1, encoding.getId());
+            assertEquals(new ArrowType.Int(32, true), encoding.getIndexType());
+            assertEquals(encoding.getIndexType(), fields.get(1).getType());
+            assertEquals(ArrowType.Utf8.INSTANCE, scanner.lookup(1).getVector().getField().getType());
+            assertNull(fields.get(2).getDictionary());
+            assertNull(fields.get(3).getDictionary());
+
+            assertEquals(expectedColumn(rows, 1), readColumn(scanner, 1));
+            assertTrue(scanner.getVectorSchemaRoot().getVector(1) instanceof IntVector);
+            // S1, S0
+            assertTrue(scanner.lookup(1).getVector() instanceof VarCharVector);
+            assertEquals(2, scanner.lookup(1).getVector().getValueCount());
+        }
+    }
+
+    @Test
+    @DisplayName("only the low cardinality CHAR/VARCHAR columns are detected")
+    public void testAutoDetect() throws Exception {
+        List<Object[]> rows = rows(30);
+        try (JdbcScanner scanner = createScanner(FakeJdbc.resultSet(NAMES, TYPES, rows),
+                Collections.emptyList(), true, 10)) {
+            List<Field> fields = scanner.getVectorSchemaRoot().getSchema().getFields();
+            assertNotNull(fields.get(1).getDictionary());
+            // unique
+            assertNull(fields.get(2).getDictionary());
+            // DATE is mapped to VARCHAR, but it's not detected
+            assertNull(fields.get(3).getDictionary());
+
+            // the sample batch is returned too
+            assertEquals(expectedColumn(rows, 1), readColumn(scanner, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("an auto-detected column doesn't fail if the dictionary is full")
+    public void testAutoDetectedOverflow() throws Exception {
+        // the first batch has 2 values, and every value is distinct after that
+        List<Object[]> rows = rows(40);
+        for (int i = BATCH_SIZE; i < rows.size(); i++) {
+            rows.get(i)[1] = "V" + i;
+        }
+        try (JdbcScanner scanner = createScanner(FakeJdbc.resultSet(NAMES, TYPES, rows),
+                Collections.emptyList(), true, 4)) {
+            assertNotNull(scanner.getVectorSchemaRoot().getSchema().getFields().get(1).getDictionary());
+            assertEquals(expectedColumn(rows, 1), readColumn(scanner, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("a column chosen by user fails if the dictionary is full")
+    public void testDictionaryColumnOverflow() throws Exception {
+        List<Object[]> rows = rows(40);
+        for (int i = BATCH_SIZE; i < rows.size(); i++) {
+            rows.get(i)[1] = "V" + i;
+        }
+        try (JdbcScanner scanner = createScanner(FakeJdbc.resultSet(NAMES, TYPES, rows),
+                Collections.singletonList("status"), false, 4)) {
+            IOException e = assertThrows(IOException.class, () -> readColumn(scanner, 1));
+            assertTrue(e.getMessage().contains("dictionary_max_size"), e.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("the dictionary columns that are not VARCHAR columns of the result are ignored")
+    public void testUnknownDictionaryColumns() throws Exception {
+        List<Object[]> rows = rows(10);
+        try (JdbcScanner scanner = createScanner(FakeJdbc.resultSet(NAMES, TYPES, rows),
+                Arrays.asList("missing", "id"), false, 10)) {
+            for (Field field : scanner.getVectorSchemaRoot().getSchema().getFields()) {
+                assertNull(field.getDictionary());
+            }
+            assertEquals(expectedColumn(rows, 2), readColumn(scanner, 2));
+        }
+    }
+
+    @Test
+    @DisplayName("release the sample batch if the scanner fails to be created")
+    public void testSampleFailure() {
+        // the metadata fails after the sample batch is read
+        boolean[] sampled = {false};
+        ResultSet resultSet = FakeJdbc.resultSet(NAMES, TYPES, rows(30));
+        Map<String, Function<Object[], Object>> metaDataMethods = new HashMap<>();
+        metaDataMethods.put("getColumnType", args -> {
+            if (sampled[0]) {
+                throw new IllegalStateException("metadata is closed");
+            }
+            return TYPES.get((int) args[0] - 1);
+        });
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("getMetaData", args -> {
+            try {
+                return FakeJdbc.proxy(ResultSetMetaData.class, resultSet.getMetaData(), metaDataMethods);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        methods.put("next", args -> {
+            try {
+                sampled[0] = true;
+                return resultSet.next();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        ResultSet failedResultSet = FakeJdbc.proxy(ResultSet.class, resultSet, methods);
+
+        assertThrows(IOException.class, () -> createScanner(failedResultSet, Collections.emptyList(), true, 10));
+        // the allocator is checked to be empty when it's closed
+    }
+}
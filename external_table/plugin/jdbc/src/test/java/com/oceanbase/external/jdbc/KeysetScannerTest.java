@@ -0,0 +1,298 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeysetScannerTest {
+    private static final int BATCH_SIZE = 30;
+
+    private BufferAllocator allocator;
+
+    /**
+     * The table has the rows (value, id) for id in [0, rows), and `value` is `id * 10`.
+     * A chunk is the rows `WHERE id > lastKey ORDER BY id LIMIT chunkSize`.
+     */
+    private class FakeOpener implements KeysetScanner.ChunkOpener {
+        private final long rows;
+        private final long chunkSize;
+        private final ArrowType keyType;
+        /// the batches to fail with a transient error, counted across the chunks
+        private final Set<Integer> failedBatches = new HashSet<>();
+        /// how many opens to fail with a transient error
+        private int failedOpens = 0;
+
+        private final List<Object> openedKeys = new ArrayList<>();
+        private final List<ArrowReader> chunks = new ArrayList<>();
+        private int batches = 0;
+        private int resets = 0;
+        private boolean closed = false;
+
+        FakeOpener(long rows, long chunkSize, ArrowType keyType) {
+            this.rows = rows;
+            this.chunkSize = chunkSize;
+            this.keyType = keyType;
+        }
+
+        @Override
+        public ArrowReader open(Object lastKey) throws IOException {
+            openedKeys.add(lastKey);
+            if (failedOpens > 0) {
+                failedOpens--;
+                throw new IOException(new SQLRecoverableException("connection refused"));
+            }
+            long start = lastKey == null ? 0 : (Long) lastKey + 1;
+            ArrowReader chunk = new FakeChunk(this, start, Math.min(rows, start + chunkSize));
+            chunks.add(chunk);
+            return chunk;
+        }
+
+        @Override
+        public void reset() {
+            resets++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private class FakeChunk extends ArrowReader {
+        private final FakeOpener opener;
+        private final long end;
+        private long next;
+        private boolean closed = false;
+
+        FakeChunk(FakeOpener opener, long start, long end) {
+            super(KeysetScannerTest.this.allocator);
+            this.opener = opener;
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean loadNextBatch() throws IOException {
+            if (opener.failedBatches.remove(opener.batches++)) {
+                throw new IOException(new SQLRecoverableException("connection reset"));
+            }
+            if (next >= end) {
+                return false;
+            }
+            VectorSchemaRoot root = getVectorSchemaRoot();
+            BigIntVector values = (BigIntVector) root.getVector(0);
+            int count = (int) Math.min(BATCH_SIZE, end - next);
+            values.allocateNew(count);
+            for (int i = 0; i < count; i++) {
+                values.set(i, (next + i) * 10);
+            }
+            if (root.getVector(1) instanceof BigIntVector) {
+                BigIntVector ids = (BigIntVector) root.getVector(1);
+                ids.allocateNew(count);
+                for (int i = 0; i < count; i++) {
+                    ids.set(i, next + i);
+                }
+            }
+            next += count;
+            root.setRowCount(count);
+            return true;
+        }
+
+        @Override
+        public long bytesRead() {
+            return 0;
+        }
+
+        @Override
+        protected void closeReadSource() {
+            closed = true;
+        }
+
+        @Override
+        protected Schema readSchema() {
+            return new Schema(Arrays.asList(
+                    Field.nullable("value", new ArrowType.Int(64, true)),
+                    Field.nullable("id", opener.keyType)));
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    private KeysetScanner createScanner(FakeOpener opener, int maxRetries) throws IOException {
+        return new KeysetScanner(allocator, opener, 1, true, opener.chunkSize, maxRetries, 1);
+    }
+
+    private static List<Long> readValues(ArrowReader reader) throws IOException {
+        List<Long> values = new ArrayList<>();
+        while (reader.loadNextBatch()) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            BigIntVector vector = (BigIntVector) root.getVector(0);
+            for (int i = 0; i < root.getRowCount(); i++) {
+                values.add(vector.get(i));
+            }
+        }
+        return values;
+    }
+
+    private static void assertAllRows(long rows, List<Long> values) {
+        assertEquals(rows, values.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i * 10L, values.get(i));
+        }
+    }
+
+    private static void assertClosed(FakeOpener opener) {
+        assertTrue(opener.closed, "the opener should be closed");
+        for (ArrowReader chunk : opener.chunks) {
+            assertTrue(((FakeChunk) chunk).closed, "every chunk should be closed");
+        }
+    }
+
+    @Test
+    @DisplayName("the key column that is not selected is dropped")
+    public void testDropKeyColumn() throws IOException {
+        FakeOpener opener = new FakeOpener(250, 100, new ArrowType.Int(64, true));
+        try (KeysetScanner scanner = createScanner(opener, 0)) {
+            Schema schema = scanner.getVectorSchemaRoot().getSchema();
+            assertEquals(1, schema.getFields().size());
+            assertEquals("value", schema.getFields().get(0).getName());
+
+            List<Long> values = readValues(scanner);
+            assertEquals(1, scanner.getVectorSchemaRoot().getFieldVectors().size());
+            assertAllRows(250, values);
+        }
+        assertEquals(Arrays.asList(null, 99L, 199L), opener.openedKeys);
+        assertClosed(opener);
+    }
+
+    @Test
+    @DisplayName("a chunk of exactly chunk size rows is followed by another query")
+    public void testExactChunk() throws IOException {
+        FakeOpener opener = new FakeOpener(200, 100, new ArrowType.Int(64, true));
+        try (KeysetScanner scanner = createScanner(opener, 0)) {
+            assertAllRows(200, readValues(scanner));
+            assertFalse(scanner.loadNextBatch());
+        }
+        // the last query returns nothing
+        assertEquals(Arrays.asList(null, 99L, 199L), opener.openedKeys);
+        assertClosed(opener);
+    }
+
+    @Test
+    @DisplayName("resume from the last key after transient errors")
+    public void testTransientFailure() throws IOException {
+        FakeOpener opener = new FakeOpener(1000, 100, new ArrowType.Int(64, true));
+        opener.failedOpens = 1;
+        // the batches of every chunk are 30, 30, 30, 10 and the end.
+        // fail in the middle of the second and the third chunks
+        opener.failedBatches.addAll(Arrays.asList(6, 13));
+        try (KeysetScanner scanner = createScanner(opener, 1)) {
+            assertAllRows(1000, readValues(scanner));
+        }
+        assertEquals(3, opener.resets);
+        assertEquals(Arrays.asList(null, null, 99L, 129L, 229L, 259L), opener.openedKeys.subList(0, 6));
+        assertClosed(opener);
+    }
+
+    @Test
+    @DisplayName("give up after the max retries")
+    public void testMaxRetries() throws IOException {
+        FakeOpener opener = new FakeOpener(1000, 100, new ArrowType.Int(64, true));
+        try (KeysetScanner scanner = createScanner(opener, 2)) {
+            assertTrue(scanner.loadNextBatch());
+            opener.failedOpens = 3;
+            opener.failedBatches.add(opener.batches);
+            IOException e = assertThrows(IOException.class, () -> readValues(scanner));
+            assertInstanceOf(SQLRecoverableException.class, e.getCause());
+            assertEquals(2, opener.resets);
+        }
+        assertClosed(opener);
+
+        // the first chunk is retried too
+        FakeOpener failedOpener = new FakeOpener(1000, 100, new ArrowType.Int(64, true));
+        failedOpener.failedOpens = 3;
+        assertThrows(IOException.class, () -> createScanner(failedOpener, 2));
+        assertEquals(3, failedOpener.openedKeys.size());
+        assertClosed(failedOpener);
+    }
+
+    @Test
+    @DisplayName("fail at once if the error is not transient")
+    public void testNonTransientFailure() throws IOException {
+        FakeOpener opener = new FakeOpener(1000, 100, new ArrowType.Int(64, true)) {
+            @Override
+            public ArrowReader open(Object lastKey) throws IOException {
+                if (lastKey != null) {
+                    throw new IOException(new SQLSyntaxErrorException("syntax error"));
+                }
+                return super.open(null);
+            }
+        };
+        try (KeysetScanner scanner = createScanner(opener, 3)) {
+            IOException e = assertThrows(IOException.class, () -> readValues(scanner));
+            assertInstanceOf(SQLSyntaxErrorException.class, e.getCause());
+            assertEquals(0, opener.resets);
+        }
+        assertClosed(opener);
+    }
+
+    @Test
+    @DisplayName("reject the key type that can't be compared in SQL")
+    public void testUnsupportedKeyType() {
+        FakeOpener opener = new FakeOpener(1000, 100, ArrowType.Binary.INSTANCE);
+        IOException e = assertThrows(IOException.class, () -> createScanner(opener, 3));
+        assertTrue(e.getMessage().contains("keyset column id"), e.getMessage());
+        assertClosed(opener);
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import com.oceanbase.external.api.TableScanParameter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QueryBuilderTest {
+    private final JdbcConfig config = JdbcConfig.of(
+            "{\"jdbc_url\":\"jdbc:mysql://h/db\",\"user\":\"root\",\"table\":\"t\",\"keyset_column\":\"id\"}");
+
+    private static TableScanParameter scanParameter(List<String> columns, List<String> filters, List<Object> values) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("columns", columns);
+        parameters.put("filters", filters);
+        parameters.put("question_mark_values", values);
+        return TableScanParameter.of(parameters);
+    }
+
+    @Test
+    @DisplayName("keyset query of the first chunk")
+    public void testFirstChunk() {
+        QueryBuilder queryBuilder = new QueryBuilder("`");
+        TableScanParameter parameter = scanParameter(Arrays.asList("id", "name"),
+                Collections.emptyList(), Collections.emptyList());
+        assertEquals("SELECT `id`,`name` FROM `t` ORDER BY `id` LIMIT 100",
+                queryBuilder.buildKeysetQuery(parameter, config, false, 100));
+    }
+
+    @Test
+    @DisplayName("keyset query after the last key")
+    public void testNextChunk() {
+        QueryBuilder queryBuilder = new QueryBuilder("`");
+        // the key column is appended if it's not selected, and the filters are enclosed in parentheses
+        TableScanParameter parameter = scanParameter(Collections.singletonList("name"),
+                Arrays.asList("(`a`={0}) OR (`b`={1})", "`c`<>{2}"), Arrays.asList(1, 2, "x'y"));
+        assertEquals("SELECT `name`,`id` FROM `t` WHERE ((`a`=1) OR (`b`=2)) AND (`c`<>'x''y') AND `id`>?"
+                        + " ORDER BY `id` LIMIT 100",
+                queryBuilder.buildKeysetQuery(parameter, config, true, 100));
+
+        // no column is selected
+        parameter = scanParameter(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        assertEquals("SELECT 1,`id` FROM `t` WHERE `id`>? ORDER BY `id` LIMIT 10",
+                queryBuilder.buildKeysetQuery(parameter, config, true, 10));
+    }
+
+    @Test
+    @DisplayName("the key column is selected case-insensitively")
+    public void testKeySelected() {
+        QueryBuilder queryBuilder = new QueryBuilder();
+        TableScanParameter parameter = scanParameter(Arrays.asList("ID", "name"),
+                Collections.emptyList(), Collections.emptyList());
+        assertEquals("SELECT ID,name FROM t WHERE id>? ORDER BY id LIMIT 100",
+                queryBuilder.buildKeysetQuery(parameter, config, true, 100));
+    }
+}
@@ -0,0 +1,140 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardKeyRangeTest {
+    private static final String KEY = "`id`";
+
+    /// the shard contains the keys in [100, 200]
+    private final ShardKeyRange range = ShardKeyRange.of("100", "200");
+
+    private boolean mayMatch(String... filters) {
+        return range.mayMatch(KEY, Arrays.asList(filters));
+    }
+
+    @Test
+    @DisplayName("no filter matches every shard")
+    public void testNoFilter() {
+        assertTrue(range.mayMatch(KEY, Collections.emptyList()));
+    }
+
+    @Test
+    @DisplayName("comparison with a constant")
+    public void testCompare() {
+        assertTrue(mayMatch("`id`=100"));
+        assertTrue(mayMatch("`id`=200"));
+        assertFalse(mayMatch("`id`=99"));
+        assertFalse(mayMatch("`id`=201"));
+
+        assertTrue(mayMatch("`id`<101"));
+        assertFalse(mayMatch("`id`<100"));
+        assertTrue(mayMatch("`id`<=100"));
+        assertFalse(mayMatch("`id`<=99"));
+
+        assertTrue(mayMatch("`id`>199"));
+        assertFalse(mayMatch("`id`>200"));
+        assertTrue(mayMatch("`id`>=200"));
+        assertFalse(mayMatch("`id`>=201"));
+
+        // not equal can't skip a range
+        assertTrue(mayMatch("`id`<>150"));
+    }
+
+    @Test
+    @DisplayName("negative, decimal and exponent constants")
+    public void testNumberLiterals() {
+        ShardKeyRange negative = ShardKeyRange.of("-100", "-1");
+        assertTrue(negative.mayMatch(KEY, Collections.singletonList("`id`=-50")));
+        assertFalse(negative.mayMatch(KEY, Collections.singletonList("`id`>=0")));
+        assertFalse(negative.mayMatch(KEY, Collections.singletonList("`id`<-100.5")));
+
+        assertTrue(mayMatch("`id`=1.5e2"));
+        assertTrue(mayMatch("`id`=1.5E+2"));
+        assertFalse(mayMatch("`id`=2e3"));
+        assertFalse(mayMatch("`id`<1E-3"));
+        assertTrue(mayMatch("`id`>+150"));
+    }
+
+    @Test
+    @DisplayName("BETWEEN and IN")
+    public void testBetweenAndIn() {
+        assertTrue(mayMatch("`id` BETWEEN 0 AND 100"));
+        assertTrue(mayMatch("`id` BETWEEN 150 AND 160"));
+        assertTrue(mayMatch("`id` BETWEEN 200 AND 300"));
+        assertFalse(mayMatch("`id` BETWEEN 0 AND 99"));
+        assertFalse(mayMatch("`id` BETWEEN 201 AND 300"));
+
+        assertTrue(mayMatch("`id` IN (1, 150, 300)"));
+        assertFalse(mayMatch("`id` IN (1, 99, 201)"));
+        // a value that is not a number may match
+        assertTrue(mayMatch("`id` IN (1, 'abc')"));
+    }
+
+    @Test
+    @DisplayName("NOT BETWEEN, OR and AND are never used to skip a shard")
+    public void testUnrecognizedFilters() {
+        assertTrue(mayMatch("NOT `id` BETWEEN 0 AND 1000"));
+        assertTrue(mayMatch("`id` NOT IN (150)"));
+        assertTrue(mayMatch("(`id`=1) OR (`id`=150)"));
+        assertTrue(mayMatch("(`id`=1) OR (`id`=2)"));
+        assertTrue(mayMatch("(`id`=1) AND (`name`='x')"));
+        assertTrue(mayMatch(" NOT (`id`=150)"));
+        assertTrue(mayMatch("`id` IS NULL"));
+        assertTrue(mayMatch("`id`=`other`"));
+        assertTrue(mayMatch("`other`=1"));
+    }
+
+    @Test
+    @DisplayName("all filters must match")
+    public void testMultipleFilters() {
+        assertTrue(mayMatch("`id`>=150", "`other`=1"));
+        assertFalse(mayMatch("`other`=1", "`id`>=300"));
+        // the filters are tested one by one, and their intersection is not computed
+        assertTrue(mayMatch("`id`>=150", "`id`<120"));
+    }
+
+    @Test
+    @DisplayName("the key is case-insensitive")
+    public void testCaseInsensitiveKey() {
+        assertFalse(range.mayMatch("`ID`", Collections.singletonList("`id`=1")));
+        assertFalse(range.mayMatch(KEY, Collections.singletonList("`Id` between 1 and 2")));
+    }
+
+    @Test
+    @DisplayName("open range")
+    public void testOpenRange() {
+        ShardKeyRange atLeast = ShardKeyRange.of("100", null);
+        assertTrue(atLeast.mayMatch(KEY, Collections.singletonList("`id`>100000")));
+        assertFalse(atLeast.mayMatch(KEY, Collections.singletonList("`id`<100")));
+
+        ShardKeyRange atMost = ShardKeyRange.of(null, "100");
+        assertTrue(atMost.mayMatch(KEY, Collections.singletonList("`id`<-100000")));
+        assertFalse(atMost.mayMatch(KEY, Collections.singletonList("`id`>100")));
+    }
+}
@@ -0,0 +1,184 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedScannerTest {
+    private static final Schema SCHEMA = new Schema(Collections.singletonList(
+            Field.nullable("id", new ArrowType.Int(64, true))));
+
+    private BufferAllocator allocator;
+    private final List<FakeShardReader> readers = new ArrayList<>();
+
+    /**
+     * Produce the ids in [start, start + rows) in batches, and fail before the batch `failAtBatch`.
+     */
+    private static class FakeShardReader extends ArrowReader {
+        private final long end;
+        private final int batchSize;
+        private final int failAtBatch;
+        private long next;
+        private int batches = 0;
+        private volatile boolean closed = false;
+
+        FakeShardReader(BufferAllocator allocator, long start, long rows, int batchSize, int failAtBatch) {
+            super(allocator);
+            this.next = start;
+            this.end = start + rows;
+            this.batchSize = batchSize;
+            this.failAtBatch = failAtBatch;
+        }
+
+        @Override
+        public boolean loadNextBatch() throws IOException {
+            if (batches++ == failAtBatch) {
+                throw new IOException("injected failure");
+            }
+            if (next >= end) {
+                return false;
+            }
+            VectorSchemaRoot root = getVectorSchemaRoot();
+            BigIntVector vector = (BigIntVector) root.getVector(0);
+            int rows = (int) Math.min(batchSize, end - next);
+            vector.allocateNew(rows);
+            for (int i = 0; i < rows; i++) {
+                vector.set(i, next++);
+            }
+            root.setRowCount(rows);
+            return true;
+        }
+
+        @Override
+        public long bytesRead() {
+            return 0;
+        }
+
+        @Override
+        protected void closeReadSource() {
+            closed = true;
+        }
+
+        @Override
+        protected Schema readSchema() {
+            return SCHEMA;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (FakeShardReader reader : readers) {
+            assertTrue(reader.closed, "every shard reader should be closed");
+        }
+        allocator.close();
+    }
+
+    private FakeShardReader createReader(long start, long rows, int failAtBatch) {
+        FakeShardReader reader = new FakeShardReader(allocator, start, rows, 100, failAtBatch);
+        synchronized (readers) {
+            readers.add(reader);
+        }
+        return reader;
+    }
+
+    private ShardedScanner createScanner(long rowsPerShard, int shardCount, int parallelism, int failedShard) throws IOException {
+        Map<String, ShardedScanner.ShardScannerOpener> otherShards = new LinkedHashMap<>();
+        for (int i = 1; i < shardCount; i++) {
+            final long start = i * rowsPerShard;
+            final int failAtBatch = i == failedShard ? 2 : -1;
+            otherShards.put("shard-" + i, () -> createReader(start, rowsPerShard, failAtBatch));
+        }
+        return new ShardedScanner(allocator, "shard-0", createReader(0, rowsPerShard, -1), otherShards, parallelism);
+    }
+
+    @Test
+    @DisplayName("merge the batches of all shards")
+    public void testMerge() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (ShardedScanner scanner = createScanner(250, 4, 2, -1)) {
+            assertEquals(SCHEMA, scanner.getVectorSchemaRoot().getSchema());
+            while (scanner.loadNextBatch()) {
+                VectorSchemaRoot root = scanner.getVectorSchemaRoot();
+                BigIntVector vector = (BigIntVector) root.getVector(0);
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    ids.add(vector.get(i));
+                }
+            }
+        }
+
+        Collections.sort(ids);
+        assertEquals(1000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("fail if a shard fails partway")
+    public void testShardFailure() throws IOException {
+        try (ShardedScanner scanner = createScanner(1000, 3, 3, 1)) {
+            IOException e = assertThrows(IOException.class, () -> {
+                while (scanner.loadNextBatch()) {
+                    // consume the batches until the failure
+                }
+            });
+            assertTrue(e.getMessage().contains("shard-1"), e.getMessage());
+            assertEquals("injected failure", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("close the shards if the scanner is closed early")
+    public void testCloseEarly() throws IOException {
+        try (ShardedScanner scanner = createScanner(1000, 3, 1, -1)) {
+            scanner.loadNextBatch();
+        }
+        try (ShardedScanner ignored = createScanner(1000, 3, 1, -1)) {
+            // close before reading anything
+        }
+    }
+}
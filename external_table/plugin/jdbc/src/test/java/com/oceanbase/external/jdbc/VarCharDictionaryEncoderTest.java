@@ -0,0 +1,158 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VarCharDictionaryEncoderTest {
+    private BufferAllocator allocator;
+    private VarCharVector values;
+    private VarCharVector dictionary;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+        values = new VarCharVector("c", allocator);
+        dictionary = new VarCharVector("dictionary", allocator);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        values.close();
+        dictionary.close();
+        allocator.close();
+    }
+
+    private VarCharVector batch(String... strings) {
+        values.reset();
+        for (int i = 0; i < strings.length; i++) {
+            if (strings[i] == null) {
+                values.setNull(i);
+            } else {
+                values.setSafe(i, strings[i].getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        values.setValueCount(strings.length);
+        return values;
+    }
+
+    private static List<Integer> indexes(IntVector vector) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < vector.getValueCount(); i++) {
+            indexes.add(vector.getObject(i));
+        }
+        return indexes;
+    }
+
+    private List<String> dictionaryValues() {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < dictionary.getValueCount(); i++) {
+            result.add(dictionary.getObject(i).toString());
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("the indexes are stable across batches while the dictionary grows")
+    public void testStableIndexes() throws IOException {
+        try (VarCharDictionaryEncoder encoder = new VarCharDictionaryEncoder("c", allocator, dictionary, 10, true)) {
+            assertEquals(Arrays.asList(0, 1, 0), indexes(encoder.encode(batch("a", "b", "a"))));
+            assertEquals(Arrays.asList("a", "b"), dictionaryValues());
+
+            assertEquals(Arrays.asList(1, 2, 0, 2), indexes(encoder.encode(batch("b", "c", "a", "c"))));
+            assertEquals(Arrays.asList("a", "b", "c"), dictionaryValues());
+            assertEquals(3, encoder.getDictionarySize());
+        }
+    }
+
+    @Test
+    @DisplayName("null is not put into the dictionary")
+    public void testNull() throws IOException {
+        try (VarCharDictionaryEncoder encoder = new VarCharDictionaryEncoder("c", allocator, dictionary, 10, true)) {
+            assertEquals(Arrays.asList(null, 0, null), indexes(encoder.encode(batch(null, "a", null))));
+            assertEquals(Arrays.asList(null, null), indexes(encoder.encode(batch(null, null))));
+            assertEquals(Arrays.asList("a"), dictionaryValues());
+        }
+    }
+
+    @Test
+    @DisplayName("fail if the dictionary of a column chosen by user is full")
+    public void testMaxSize() throws IOException {
+        try (VarCharDictionaryEncoder encoder = new VarCharDictionaryEncoder("c", allocator, dictionary, 2, true)) {
+            encoder.encode(batch("a", "b", "a"));
+            IOException e = assertThrows(IOException.class, () -> encoder.encode(batch("a", "c")));
+            assertTrue(e.getMessage().contains("'c'"), e.getMessage());
+            assertTrue(e.getMessage().contains("dictionary_max_size"), e.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("start a new dictionary if the dictionary of an auto-detected column is full")
+    public void testRestart() throws IOException {
+        try (VarCharDictionaryEncoder encoder = new VarCharDictionaryEncoder("c", allocator, dictionary, 2, false)) {
+            assertEquals(Arrays.asList(0, 1), indexes(encoder.encode(batch("a", "b"))));
+
+            // a new dictionary holds all values of the batch, even if they are more than the max size
+            assertEquals(Arrays.asList(0, 1, 2, 0), indexes(encoder.encode(batch("a", "c", "d", "a"))));
+            assertEquals(Arrays.asList("a", "c", "d"), dictionaryValues());
+            assertEquals(1, encoder.getRestarts());
+
+            // the values in the dictionary are still encoded by it
+            assertEquals(Arrays.asList(2, 1), indexes(encoder.encode(batch("d", "c"))));
+            assertEquals(1, encoder.getRestarts());
+
+            assertEquals(Arrays.asList(0, null), indexes(encoder.encode(batch("e", null))));
+            assertEquals(Arrays.asList("e"), dictionaryValues());
+            assertEquals(2, encoder.getRestarts());
+        }
+    }
+
+    @Test
+    @DisplayName("a column is low cardinality if the distinct values are not more than 1/4 rows")
+    public void testLowCardinality() {
+        assertFalse(VarCharDictionaryEncoder.isLowCardinality(batch(), 10));
+        assertTrue(VarCharDictionaryEncoder.isLowCardinality(batch("a", "b", "a", "b", "a", "b", "a", "b"), 10));
+        assertFalse(VarCharDictionaryEncoder.isLowCardinality(batch("a", "b", "c", "b", "a", "b", "a", "b"), 10));
+        // null is not a distinct value
+        assertTrue(VarCharDictionaryEncoder.isLowCardinality(batch("a", "b", null, null, null, null, null, null), 10));
+        // less than 4 rows can't be encoded
+        assertFalse(VarCharDictionaryEncoder.isLowCardinality(batch("a", "a", "a"), 10));
+        // limited by the max size
+        assertFalse(VarCharDictionaryEncoder.isLowCardinality(batch("a", "b", "a", "b", "a", "b", "a", "b"), 1));
+    }
+}
@@ -0,0 +1,249 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.jdbc;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VectorBufferPoolTest {
+    private static final int BATCH_SIZE = 16;
+    private static final long MB = 1024 * 1024;
+    private static final Schema SCHEMA = new Schema(Arrays.asList(
+            Field.nullable("id", new ArrowType.Int(32, true)),
+            Field.nullable("name", ArrowType.Utf8.INSTANCE)));
+
+    private BufferAllocator allocator;
+    private VectorBufferPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+        pool = new VectorBufferPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.clear(allocator);
+        allocator.close();
+    }
+
+    private static Schema varCharSchema(String name) {
+        return new Schema(Collections.singletonList(Field.nullable(name, ArrowType.Utf8.INSTANCE)));
+    }
+
+    private static void write(VectorSchemaRoot root, int rowCount) {
+        IntVector ids = (IntVector) root.getVector(0);
+        VarCharVector names = (VarCharVector) root.getVector(1);
+        for (int i = 0; i < rowCount; i++) {
+            ids.setSafe(i, i);
+            names.setSafe(i, ("name-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        root.setRowCount(rowCount);
+    }
+
+    private static void check(VectorSchemaRoot root, int rowCount) {
+        assertEquals(rowCount, root.getRowCount());
+        for (int i = 0; i < rowCount; i++) {
+            assertEquals(i, ((IntVector) root.getVector(0)).get(i));
+            assertEquals("name-" + i, root.getVector(1).getObject(i).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("the released root is acquired again with its buffers")
+    public void testRecycle() {
+        VectorSchemaRoot root = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        write(root, BATCH_SIZE);
+        long idAddress = ((IntVector) root.getVector(0)).getDataBuffer().memoryAddress();
+        long nameAddress = ((VarCharVector) root.getVector(1)).getDataBuffer().memoryAddress();
+        pool.release(allocator, root);
+        assertTrue(allocator.getAllocatedMemory() > 0);
+
+        VectorSchemaRoot recycled = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        assertSame(root, recycled);
+        assertEquals(idAddress, ((IntVector) recycled.getVector(0)).getDataBuffer().memoryAddress());
+        assertEquals(nameAddress, ((VarCharVector) recycled.getVector(1)).getDataBuffer().memoryAddress());
+        write(recycled, BATCH_SIZE);
+        check(recycled, BATCH_SIZE);
+        pool.release(allocator, recycled);
+
+        pool.clear(allocator);
+        assertEquals(0, allocator.getAllocatedMemory());
+    }
+
+    @Test
+    @DisplayName("the root is closed if its buffers are referenced by others")
+    public void testShared() {
+        VectorSchemaRoot root = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        write(root, BATCH_SIZE);
+        ArrowBuf exported = ((VarCharVector) root.getVector(1)).getDataBuffer();
+        exported.getReferenceManager().retain();
+        pool.release(allocator, root);
+
+        // the root is closed, but the exported buffer is still valid
+        assertEquals(0, root.getVector(0).getValueCapacity());
+        assertEquals("name-0", new String(readBytes(exported, 6), StandardCharsets.UTF_8));
+        VectorSchemaRoot other = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        assertNotSame(root, other);
+        exported.getReferenceManager().release();
+        other.close();
+        assertEquals(0, allocator.getAllocatedMemory());
+    }
+
+    private static byte[] readBytes(ArrowBuf buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.getBytes(0, bytes);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("at most 4 idle roots are kept for a schema")
+    public void testMaxIdleRootsPerSchema() {
+        List<VectorSchemaRoot> roots = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            roots.add(pool.acquire(allocator, SCHEMA, BATCH_SIZE));
+        }
+        roots.forEach(root -> pool.release(allocator, root));
+        // the last one is closed
+        assertEquals(0, roots.get(4).getVector(0).getValueCapacity());
+
+        List<VectorSchemaRoot> recycled = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            recycled.add(pool.acquire(allocator, SCHEMA, BATCH_SIZE));
+        }
+        assertEquals(4, recycled.stream().filter(roots.subList(0, 4)::contains).count());
+        recycled.forEach(VectorSchemaRoot::close);
+    }
+
+    @Test
+    @DisplayName("at most 64MB idle roots are kept")
+    public void testMaxIdleBytes() {
+        VectorSchemaRoot first = pool.acquire(allocator, varCharSchema("a"), 0);
+        VectorSchemaRoot second = pool.acquire(allocator, varCharSchema("b"), 0);
+        ((VarCharVector) first.getVector(0)).allocateNew(40 * MB, 1);
+        ((VarCharVector) second.getVector(0)).allocateNew(40 * MB, 1);
+        pool.release(allocator, first);
+        pool.release(allocator, second);
+
+        assertTrue(allocator.getAllocatedMemory() >= 40 * MB);
+        assertTrue(allocator.getAllocatedMemory() <= 64 * MB);
+        VectorSchemaRoot recycled = pool.acquire(allocator, varCharSchema("a"), 0);
+        assertSame(first, recycled);
+        recycled.close();
+        VectorSchemaRoot created = pool.acquire(allocator, varCharSchema("b"), 0);
+        assertNotSame(second, created);
+        created.close();
+    }
+
+    @Test
+    @DisplayName("the idle roots of the least recently used schema are closed")
+    public void testEviction() {
+        List<VectorSchemaRoot> roots = new ArrayList<>();
+        for (int i = 0; i <= 256; i++) {
+            VectorSchemaRoot root = pool.acquire(allocator, varCharSchema("c" + i), BATCH_SIZE);
+            ((VarCharVector) root.getVector(0)).allocateNew(BATCH_SIZE);
+            pool.release(allocator, root);
+            roots.add(root);
+        }
+        // the first schema is dropped when the 257th one is added
+        assertEquals(0, roots.get(0).getVector(0).getValueCapacity());
+        VectorSchemaRoot root = pool.acquire(allocator, varCharSchema("c0"), BATCH_SIZE);
+        assertNotSame(roots.get(0), root);
+        root.close();
+        root = pool.acquire(allocator, varCharSchema("c256"), BATCH_SIZE);
+        assertSame(roots.get(256), root);
+        root.close();
+    }
+
+    @Test
+    @DisplayName("a recycled root is reallocated if its vectors were closed")
+    public void testClosedVectors() {
+        VectorSchemaRoot root = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        write(root, BATCH_SIZE);
+        long dataCapacity = ((VarCharVector) root.getVector(1)).getDataBuffer().capacity();
+        pool.release(allocator, root);
+
+        // a failed scan closes its vectors
+        root = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        root.close();
+        pool.release(allocator, root);
+
+        VectorSchemaRoot recycled = pool.acquire(allocator, SCHEMA, BATCH_SIZE);
+        assertSame(root, recycled);
+        assertTrue(recycled.getVector(0).getValueCapacity() >= BATCH_SIZE);
+        // the high-water mark of the data buffer is kept
+        assertTrue(((VarCharVector) recycled.getVector(1)).getDataBuffer().capacity() >= dataCapacity);
+        write(recycled, BATCH_SIZE);
+        check(recycled, BATCH_SIZE);
+        pool.release(allocator, recycled);
+    }
+
+    @Test
+    @DisplayName("the buffers of the child vectors are checked too")
+    public void testNested() {
+        Field child = Field.nullable("c", ArrowType.Utf8.INSTANCE);
+        Schema schema = new Schema(Collections.singletonList(
+                new Field("s", FieldType.nullable(ArrowType.Struct.INSTANCE), Collections.singletonList(child))));
+
+        // the child buffer is referenced by others
+        VectorSchemaRoot root = pool.acquire(allocator, schema, BATCH_SIZE);
+        assertTrue(root.getVector(0).getValueCapacity() >= BATCH_SIZE);
+        VarCharVector childVector = ((StructVector) root.getVector(0)).getChild("c", VarCharVector.class);
+        childVector.setSafe(0, "value".getBytes(StandardCharsets.UTF_8));
+        ArrowBuf exported = childVector.getDataBuffer();
+        exported.getReferenceManager().retain();
+        pool.release(allocator, root);
+        VectorSchemaRoot other = pool.acquire(allocator, schema, BATCH_SIZE);
+        assertNotSame(root, other);
+        exported.getReferenceManager().release();
+
+        // the child buffer is larger than the limit of the idle roots
+        ((StructVector) other.getVector(0)).getChild("c", VarCharVector.class).allocateNew(65 * MB, 1);
+        pool.release(allocator, other);
+        assertEquals(0, allocator.getAllocatedMemory());
+        root = pool.acquire(allocator, schema, BATCH_SIZE);
+        assertNotSame(other, root);
+        root.close();
+    }
+}
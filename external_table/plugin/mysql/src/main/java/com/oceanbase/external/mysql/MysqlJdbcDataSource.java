@@ -20,6 +20,7 @@
 package com.oceanbase.external.mysql;
 
 import com.mysql.cj.conf.PropertyKey;
+import com.oceanbase.external.jdbc.JdbcConfig;
 import com.oceanbase.external.jdbc.JdbcDataSource;
 import com.oceanbase.external.jdbc.JdbcTypeMapping;
 import com.oceanbase.external.jdbc.QueryBuilder;
@@ -72,7 +73,7 @@ public class MysqlJdbcDataSource extends JdbcDataSource {
     }
 
     @Override
-    protected Connection getConnection() throws SQLException {
+    protected Connection getConnection(JdbcConfig config) throws SQLException {
         // ref to com.mysql.cj.conf.PropertyDefinitions to check the default values.
         Map<String, String> defaultProperties = new HashMap<String, String>() {{
             put(PropertyKey.connectionTimeZone.getKeyName(), "UTC");
@@ -19,6 +19,7 @@
 
 package com.oceanbase.external.odps;
 
+import com.oceanbase.external.jdbc.JdbcConfig;
 import com.oceanbase.external.jdbc.JdbcDataSource;
 import com.oceanbase.external.jdbc.JdbcTypeMapping;
 import com.oceanbase.external.jdbc.QueryBuilder;
@@ -77,7 +78,7 @@ public class OdpsJdbcDataSource extends JdbcDataSource {
     }
 
     @Override
-    protected Connection getConnection() throws SQLException {
+    protected Connection getConnection(JdbcConfig config) throws SQLException {
         Properties props = new Properties();
         // JdbcConfig.user / JdbcConfig.password map to ODPS accessId / accessKey
         if (config.user != null) {
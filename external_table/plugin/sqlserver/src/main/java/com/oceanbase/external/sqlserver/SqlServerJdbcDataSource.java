@@ -19,6 +19,7 @@
 
 package com.oceanbase.external.sqlserver;
 
+import com.oceanbase.external.jdbc.JdbcConfig;
 import com.oceanbase.external.jdbc.JdbcDataSource;
 import com.oceanbase.external.jdbc.JdbcTypeMapping;
 import com.oceanbase.external.jdbc.QueryBuilder;
@@ -82,11 +83,17 @@ public class SqlServerJdbcDataSource extends JdbcDataSource {
     @Override
     protected QueryBuilder getQueryBuilder() {
         // Don't use quotes for SQL Server - let it handle identifiers naturally
-        return new QueryBuilder("");
+        return new QueryBuilder("") {
+            @Override
+            protected void appendLimit(StringBuilder sb, long limit) {
+                // SQL Server doesn't support LIMIT
+                sb.append(" OFFSET 0 ROWS FETCH NEXT ").append(limit).append(" ROWS ONLY");
+            }
+        };
     }
 
     @Override
-    protected Connection getConnection() throws SQLException {
+    protected Connection getConnection(JdbcConfig config) throws SQLException {
         // ref to Microsoft SQL Server JDBC driver documentation for property details.
         Map<String, String> defaultProperties = new HashMap<String, String>() {{
             put("socketTimeout", "3600000"); // millisecond - timeout for read operations
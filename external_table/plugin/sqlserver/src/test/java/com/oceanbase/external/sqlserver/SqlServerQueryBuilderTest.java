@@ -0,0 +1,63 @@
+// Copyright (c) 2025 OceanBase.
+//
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.oceanbase.external.sqlserver;
+
+import com.oceanbase.external.api.Constants;
+import com.oceanbase.external.api.TableScanParameter;
+import com.oceanbase.external.jdbc.JdbcConfig;
+import com.oceanbase.external.jdbc.QueryBuilder;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlServerQueryBuilderTest {
+    private static final String PARAMETERS =
+            "{\"jdbc_url\":\"jdbc:sqlserver://h:1433\",\"user\":\"sa\",\"table\":\"t\",\"keyset_column\":\"id\"}";
+
+    @Test
+    @DisplayName("SQL Server limits the rows by OFFSET FETCH")
+    public void testKeysetQuery() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.PARAMETERS_KEY, PARAMETERS);
+        Map<String, Object> scanParameters = new HashMap<>();
+        scanParameters.put("columns", Collections.singletonList("name"));
+        scanParameters.put("filters", Collections.singletonList("a>{0}"));
+        scanParameters.put("question_mark_values", Collections.singletonList(10));
+
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+            QueryBuilder queryBuilder = new SqlServerJdbcDataSource(allocator, properties).getQueryBuilder();
+            TableScanParameter parameter = TableScanParameter.of(scanParameters);
+            JdbcConfig config = new JdbcConfig();
+            config.table = "t";
+            config.keyset_column = "id";
+            assertEquals("SELECT name,id FROM t WHERE (a>10) ORDER BY id OFFSET 0 ROWS FETCH NEXT 100 ROWS ONLY",
+                    queryBuilder.buildKeysetQuery(parameter, config, false, 100));
+            assertEquals("SELECT name,id FROM t WHERE (a>10) AND id>? ORDER BY id OFFSET 0 ROWS FETCH NEXT 100 ROWS ONLY",
+                    queryBuilder.buildKeysetQuery(parameter, config, true, 100));
+        }
+    }
+}